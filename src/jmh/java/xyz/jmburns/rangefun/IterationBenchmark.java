@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the ways of iterating over a {@link Progression} against a hand-written {@code for} loop and
+ * {@link IntStream#range(int, int)}, on a single thread.
+ *
+ * @see ContendedIterationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IterationBenchmark {
+    @Param({ "10", "1000", "100000", "10000000", "100000000" })
+    private int size;
+
+    private Progression range;
+    private Progression progression;
+    private Progression reversed;
+
+    @Setup
+    public void setUp() {
+        range = Progressions.count(size);
+        progression = Progressions.progression(0, (size - 1) * 3, 3);
+        reversed = range.reverse();
+    }
+
+    @Benchmark
+    public void handWrittenLoop(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(i);
+        }
+    }
+
+    @Benchmark
+    public void handWrittenSteppedLoop(Blackhole blackhole) {
+        for (int i = 0; i < size * 3; i += 3) {
+            blackhole.consume(i);
+        }
+    }
+
+    @Benchmark
+    public void intStreamRange(Blackhole blackhole) {
+        IntStream.range(0, size).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void forEachOverRange(Blackhole blackhole) {
+        for (int i : range) {
+            blackhole.consume(i);
+        }
+    }
+
+    @Benchmark
+    public void forEachOverProgression(Blackhole blackhole) {
+        for (int i : progression) {
+            blackhole.consume(i);
+        }
+    }
+
+    @Benchmark
+    public void forEachOverReversed(Blackhole blackhole) {
+        for (int i : reversed) {
+            blackhole.consume(i);
+        }
+    }
+
+    @Benchmark
+    public void primitiveIteratorOverRange(Blackhole blackhole) {
+        PrimitiveIterator.OfInt iterator = range.iterator();
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.nextInt());
+        }
+    }
+
+    @Benchmark
+    public void intConsumerOverRange(Blackhole blackhole) {
+        range.forEachInt(blackhole::consume);
+    }
+
+    @Benchmark
+    public void streamOverRange(Blackhole blackhole) {
+        range.stream().forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares {@link Progression#contains(int)}, {@link Progression#get(int)} and {@link Progression#length()}
+ * against the arithmetic a caller would write by hand, and against {@link IntStream#range(int, int)} where it
+ * has an equivalent. Every lookup should take the same time, whatever the size of the progression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LookupBenchmark {
+    private static final int PROBES = 1024;
+
+    @Param({ "10", "1000", "100000", "10000000", "100000000" })
+    private int size;
+
+    private Progression progression;
+    private int[] values;
+    private int[] indices;
+
+    @Setup
+    public void setUp() {
+        progression = Progressions.progression(0, (size - 1) * 3, 3);
+
+        Random random = new Random(42);
+        values = random.ints(PROBES, -3, size * 3 + 3).toArray();
+        indices = random.ints(PROBES, 0, size).toArray();
+    }
+
+    @Benchmark
+    public int contains() {
+        int found = 0;
+        for (int value : values) {
+            if (progression.contains(value)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int containsContended() {
+        return contains();
+    }
+
+    @Benchmark
+    public int containsHandWritten() {
+        int found = 0;
+        int last = (size - 1) * 3;
+        for (int value : values) {
+            if (value >= 0 && value <= last && value % 3 == 0) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int get() {
+        int sum = 0;
+        for (int index : indices) {
+            sum += progression.get(index);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int getContended() {
+        return get();
+    }
+
+    @Benchmark
+    public int getHandWritten() {
+        int sum = 0;
+        for (int index : indices) {
+            sum += index * 3;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int length() {
+        return progression.length();
+    }
+
+    @Benchmark
+    public long intStreamRangeCount() {
+        return IntStream.range(0, size).count();
+    }
+}
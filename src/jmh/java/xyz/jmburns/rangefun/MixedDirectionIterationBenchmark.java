@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates over ascending and descending progressions, alternately, from the same call sites, so that the
+ * iterator is seen in both directions there. Summing into a local, rather than into a {@code Blackhole}, leaves
+ * the JIT free to unroll the loop, so comparing against {@link #handWrittenLoops()} shows whether it did.
+ *
+ * Run with {@code -jvmArgsAppend -XX:+UnlockDiagnosticVMOptions -XX:+PrintInlining} to see how the iterator
+ * methods are inlined at each call site.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MixedDirectionIterationBenchmark {
+    @Param({ "1000", "1000000" })
+    private int size;
+
+    private Progression[] progressions;
+
+    @Setup
+    public void setUp() {
+        Progression ascending = Progressions.count(size);
+        progressions = new Progression[] { ascending, ascending.reverse(), ascending, ascending.reverse() };
+    }
+
+    @Benchmark
+    public int hasNextAndNextInt() {
+        int sum = 0;
+        for (Progression progression : progressions) {
+            PrimitiveIterator.OfInt iterator = progression.iterator();
+            while (iterator.hasNext()) {
+                sum += iterator.nextInt();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int forEachRemaining() {
+        int[] sum = { 0 };
+        for (Progression progression : progressions) {
+            progression.iterator().forEachRemaining((int integer) -> sum[0] += integer);
+        }
+        return sum[0];
+    }
+
+    @Benchmark
+    public int handWrittenLoops() {
+        int sum = 0;
+        for (int i = 0; i < progressions.length; i++) {
+            if (i % 2 == 0) {
+                for (int integer = 0; integer < size; integer++) {
+                    sum += integer;
+                }
+            } else {
+                for (int integer = size - 1; integer >= 0; integer--) {
+                    sum += integer;
+                }
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the boxed {@link Progression#toArray()} against the primitive
+ * {@link Progression#toIntArray()} and its buffer-reusing overload, and against filling an array by hand or with
+ * {@link IntStream#range(int, int)}. Sizes stop short of 10^8, as the boxed array alone would not fit in the heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ToArrayBenchmark {
+    @Param({ "10", "1000", "1000000", "50000000" })
+    private int size;
+
+    private Progression progression;
+    private int[] buffer;
+
+    @Setup
+    public void setUp() {
+        progression = Progressions.progression(0, (size - 1) * 3, 3);
+        buffer = new int[size];
+    }
+
+    @Benchmark
+    public Integer[] boxedToArray() {
+        return progression.toArray();
+    }
+
+    @Benchmark
+    public int[] toIntArray() {
+        return progression.toIntArray();
+    }
+
+    @Benchmark
+    public int[] toIntArrayIntoBuffer() {
+        return progression.toIntArray(buffer, 0);
+    }
+
+    @Benchmark
+    public int[] handWrittenLoop() {
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = i * 3;
+        }
+        return array;
+    }
+
+    @Benchmark
+    public int[] intStreamRange() {
+        return IntStream.range(0, size).map(i -> i * 3).toArray();
+    }
+}
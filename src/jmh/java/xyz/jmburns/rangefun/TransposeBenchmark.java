@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transposes a square matrix, stored row-major in a flat array, with naive nested loops, and with the tiled and
+ * Z-order traversals of {@link Progression2D}. The naive loops write to a new row of the destination on every
+ * point, so once a column of the destination no longer fits in the cache, every write misses.
+ *
+ * The time per operation shows the effect of that, but to count the cache misses themselves, run with
+ * {@code -prof perfnorm} on Linux, and compare the {@code L1-dcache-load-misses} and {@code LLC-load-misses}
+ * per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TransposeBenchmark {
+    @Param({ "512", "2048", "4096" })
+    private int size;
+
+    @Param({ "32" })
+    private int tile;
+
+    private Progression2D grid;
+    private int[] source;
+    private int[] destination;
+
+    @Setup
+    public void setUp() {
+        grid = Progressions.progression2D(Progressions.count(size), Progressions.count(size));
+        source = new int[size * size];
+        destination = new int[size * size];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = i;
+        }
+    }
+
+    @Benchmark
+    public int[] naiveNestedLoops() {
+        int size = this.size;
+        int[] source = this.source;
+        int[] destination = this.destination;
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                destination[column * size + row] = source[row * size + column];
+            }
+        }
+        return destination;
+    }
+
+    @Benchmark
+    public int[] rowMajorForEach() {
+        int size = this.size;
+        int[] source = this.source;
+        int[] destination = this.destination;
+        grid.forEach((int row, int column) -> destination[column * size + row] = source[row * size + column]);
+        return destination;
+    }
+
+    @Benchmark
+    public int[] tiled() {
+        int size = this.size;
+        int[] source = this.source;
+        int[] destination = this.destination;
+        grid.forEachTiled(tile, tile, (int row, int column) ->
+                destination[column * size + row] = source[row * size + column]
+        );
+        return destination;
+    }
+
+    @Benchmark
+    public int[] zOrder() {
+        int size = this.size;
+        int[] source = this.source;
+        int[] destination = this.destination;
+        grid.forEachZOrder((int row, int column) -> destination[column * size + row] = source[row * size + column]);
+        return destination;
+    }
+}
@@ -20,4 +20,6 @@
  */
 module xyz.jmburns.rangefun {
     exports xyz.jmburns.rangefun;
+
+    uses xyz.jmburns.rangefun.ProgressionMetrics;
 }
\ No newline at end of file
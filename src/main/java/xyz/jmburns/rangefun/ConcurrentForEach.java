@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+final class ConcurrentForEach {
+    /* Executors.newVirtualThreadPerTaskExecutor(), on Java versions that have it */
+    private static final MethodHandle VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+
+    private ConcurrentForEach() {
+        throw new AssertionError(
+                "ConcurrentForEach is not instantiable"
+        );
+    }
+
+    static void run(Progression progression, IntConsumer action, int maxConcurrency) throws InterruptedException {
+        ExecutorService executor = newExecutor(maxConcurrency);
+        try {
+            run(progression, action, maxConcurrency, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    static void run(Progression progression, IntConsumer action, int maxConcurrency, Executor executor)
+            throws InterruptedException {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        PrimitiveIterator.OfInt iterator = progression.iterator();
+
+        try {
+            // stop handing out integers as soon as one of them fails
+            while (iterator.hasNext() && failure.get() == null) {
+                permits.acquire();
+                int integer = iterator.nextInt();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            action.accept(integer);
+                        } catch (Throwable throwable) {
+                            record(failure, throwable);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RuntimeException rejected) {
+                    permits.release();
+                    record(failure, rejected);
+                }
+            }
+        } finally {
+            // no task outlives this call, even if the calling thread is interrupted
+            permits.acquireUninterruptibly(maxConcurrency);
+        }
+
+        rethrow(failure.get());
+    }
+
+    private static void record(AtomicReference<Throwable> failure, Throwable throwable) {
+        if (!failure.compareAndSet(null, throwable)) {
+            failure.get().addSuppressed(throwable);
+        }
+    }
+
+    private static void rethrow(Throwable failure) {
+        if (failure == null) {
+            return;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new CompletionException(failure);
+    }
+
+    private static ExecutorService newExecutor(int maxConcurrency) {
+        if (VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invokeExact();
+            } catch (Throwable ignored) {
+                // fall back to platform threads below
+            }
+        }
+        return Executors.newFixedThreadPool(maxConcurrency, new DaemonThreadFactory());
+    }
+
+    private static MethodHandle findVirtualThreadExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(
+                    Executors.class,
+                    "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class)
+            );
+        } catch (ReflectiveOperationException unavailable) {
+            return null;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+        private final int pool = POOL_COUNT.incrementAndGet();
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            String name = String.format("rangefun-concurrent-%s-%s", pool, threadCount.incrementAndGet());
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class represents a progression of {@code long} values, as built by the
+ * {@link xyz.jmburns.rangefun.Progressions#longProgression(long, long, long)} API.
+ * It mirrors {@link xyz.jmburns.rangefun.Progression}, for values and lengths that do not fit in an {@code int}.
+ *
+ * The class is also fully suitable for use in Map and Collection instances,
+ * since it provides well-behaved implementations of {@code equals},
+ * {@code hashCode}, and {@code compareTo}. It is also designed to be
+ * completely immutable.
+ */
+public final class LongProgression implements Iterable<Long>, Comparable<LongProgression> {
+    private final long low;
+    private final long high;
+    private final long step;
+    private final boolean backwards;
+
+    /* computed up front, since a lazily cached long could be read half-written by another thread */
+    private final long unsignedLastIndex;
+
+    LongProgression(long start, long end, long step) {
+        this.backwards = (start > end);
+
+        this.low = Math.min(start, end);
+        this.high = Math.max(start, end);
+        this.step = Math.abs(step);
+
+        // high - low may overflow, but always fits in an unsigned long
+        this.unsignedLastIndex = Long.divideUnsigned(high - low, this.step);
+    }
+
+    /**
+     * Creates a new {@code LongProgression} instance whose starting value is this progression's ending value,
+     * and whose ending value is this progression's starting value.
+     *
+     * @return a new LongProgression instance, created from this one, but with values swapped so that the
+     *         progression is iterated backwards.
+     * @see Progression#reverse()
+     */
+    public LongProgression reverse() {
+        if (backwards) {
+            return new LongProgression(low, high, step);
+        }
+        return new LongProgression(high, low, step);
+    }
+
+    /**
+     * Determines whether or not iteration over this progression would produce the given value.
+     *
+     * @implNote Progressions are lazily-evaluated, so this method is guaranteed to run in constant time.
+     *
+     * @param value the value whose range is to be evaluated
+     * @return true if iteration over this progression would produce the given value, false otherwise
+     * @see Progression#contains(int)
+     */
+    public boolean contains(long value) {
+        long distance = backwards ? high - value : value - low;
+        return low <= value && value <= high &&
+               Long.remainderUnsigned(distance, step) == 0;
+    }
+
+    /**
+     * Returns the value at the specified index in the progression. Indexing begins at zero.
+     *
+     * For example, {@code Progressions.longRange(5, 9).get(2)} would evaluate to 7.
+     *
+     * @param index the index to look up
+     * @return the value at the specified index in the progression
+     * @throws IndexOutOfBoundsException if the given index is negative or greater than or equal to {@link #length()}
+     * @see Progression#get(int)
+     */
+    public long get(long index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("index %s out of bounds for length %s", index, length())
+            );
+        }
+        return calculateForIndex(index);
+    }
+
+    long calculateForIndex(long index) {
+        if (backwards) {
+            return high - (step * index);
+        }
+        return low + (step * index);
+    }
+
+    /**
+     * Calculates the length of this progression, with the step value taken into account.
+     * For example, {@code longProgression(0, 6, 2).length()} will evaluate to 3.
+     *
+     * @return the length of the progression
+     * @throws ArithmeticException if the progression holds more than {@code Long.MAX_VALUE} values,
+     *         as {@code longRange(Long.MIN_VALUE, Long.MAX_VALUE)} does
+     */
+    public long length() {
+        if (unsignedLastIndex < 0) {
+            throw new ArithmeticException("long overflow");
+        }
+        return Math.addExact(unsignedLastIndex, 1);
+    }
+
+    /**
+     * Performs the given action for each value in this progression, in iteration order, without boxing.
+     *
+     * @param action the action to be performed for each value
+     * @throws NullPointerException if the given action is null
+     */
+    public void forEachLong(LongConsumer action) {
+        Objects.requireNonNull(action);
+        iterator().forEachRemaining(action);
+    }
+
+    /**
+     * Returns a new primitive iterator over this progression. The iterator stops at the last value
+     * of the progression, even when that value is {@code Long.MAX_VALUE} or {@code Long.MIN_VALUE}.
+     *
+     * @return a new Iterator over this progression
+     */
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        long first = calculateForIndex(0);
+        long last = calculateForIndex(Long.divideUnsigned(high - low, step));
+
+        return new LongProgressionIterator(first, last, backwards ? -step : step);
+    }
+
+    /**
+     * Returns a new primitive spliterator over this progression, which splits by index in constant time.
+     *
+     * @return a new Spliterator over this progression
+     * @throws ArithmeticException if the progression holds more than {@code Long.MAX_VALUE} values
+     * @see Progression#spliterator()
+     */
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return new LongProgressionSpliterator(this, 0, length());
+    }
+
+    /**
+     * @return a new sequential LongStream over this progression
+     * @throws ArithmeticException if the progression holds more than {@code Long.MAX_VALUE} values
+     * @see Progression#stream()
+     */
+    public LongStream stream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    /**
+     * @return a new parallel LongStream over this progression
+     * @throws ArithmeticException if the progression holds more than {@code Long.MAX_VALUE} values
+     * @see Progression#parallelStream()
+     */
+    public LongStream parallelStream() {
+        return StreamSupport.longStream(spliterator(), true);
+    }
+
+    boolean isBackwards() {
+        return backwards;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "LongProgression{low=%s, high=%s, step=%s, backwards=%s}",
+                low, high, step, backwards
+        );
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        LongProgression other = (LongProgression) object;
+
+        return low == other.low &&
+               high == other.high &&
+               step == other.step &&
+               backwards == other.backwards;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(low, high, step, backwards);
+    }
+
+    @Override
+    public int compareTo(LongProgression other) {
+        int result = Long.compare(low, other.low);
+        if (result == 0) { result = Long.compare(high, other.high); }
+        if (result == 0) { result = Long.compare(step, other.step); }
+        if (result == 0) { result = Boolean.compare(backwards, other.backwards); }
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+class LongProgressionIterator implements PrimitiveIterator.OfLong {
+    private final long step;
+    private final long last;
+    private long current;
+    private boolean exhausted;
+
+    LongProgressionIterator(long first, long last, long step) {
+        //invariants: last is reachable from first by repeatedly adding step
+        this.current = first;
+        this.last = last;
+        this.step = step;
+    }
+
+    @Override
+    public long nextLong() {
+        if (hasNext()) {
+            long old = current;
+            // stopping at the last value, rather than comparing against an end,
+            // keeps current + step from overflowing into an endless iteration
+            if (old == last) {
+                exhausted = true;
+            } else {
+                current = current + step;
+            }
+            return old;
+        } else {
+            throw new NoSuchElementException(
+                    "the end of the progression has been reached"
+            );
+        }
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+        Objects.requireNonNull(action);
+        if (exhausted) {
+            return;
+        }
+
+        long last = this.last;
+        long current = this.current;
+
+        exhausted = true;
+        this.current = last;
+        for (; current != last; current += step) {
+            action.accept(current);
+        }
+        action.accept(last);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !exhausted;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LongProgressionIterator other = (LongProgressionIterator) o;
+        return step == other.step &&
+               last == other.last &&
+               current == other.current &&
+               exhausted == other.exhausted;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(step, last, current, exhausted);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "LongProgressionIterator{step=%s, last=%s, current=%s, exhausted=%s}",
+                step, last, current, exhausted
+        );
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+class LongProgressionSpliterator implements Spliterator.OfLong {
+    private static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | DISTINCT |
+                                               SORTED | IMMUTABLE | NONNULL;
+
+    private final LongProgression progression;
+    private final long fence;
+    private long index;
+
+    LongProgressionSpliterator(LongProgression progression, long origin, long fence) {
+        //invariants: 0 <= origin <= fence <= progression.length()
+        this.progression = progression;
+        this.index = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public OfLong trySplit() {
+        long origin = index;
+        long middle = (origin + fence) >>> 1;
+        if (origin >= middle) {
+            return null;
+        }
+
+        index = middle;
+        return new LongProgressionSpliterator(progression, origin, middle);
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        Objects.requireNonNull(action);
+        if (index < fence) {
+            action.accept(progression.calculateForIndex(index));
+            index++;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+        Objects.requireNonNull(action);
+        LongProgression progression = this.progression;
+        long fence = this.fence;
+        long index = this.index;
+
+        this.index = fence;
+        for (; index < fence; index++) {
+            action.accept(progression.calculateForIndex(index));
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    @Override
+    public Comparator<? super Long> getComparator() {
+        if (progression.isBackwards()) {
+            return Comparator.reverseOrder();
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "LongProgressionSpliterator{progression=%s, fence=%s, index=%s}",
+                progression, fence, index
+        );
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ParallelForTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    /* Leaves should run for long enough to amortize the cost of forking, but no longer */
+    private static final long TARGET_LEAF_NANOS = 100_000;
+    /* Probing stops once timings are long enough to be meaningful */
+    private static final long PROBE_NANOS = 20_000;
+    /* Leaves per worker thread, so that uneven leaves can still be balanced by work-stealing */
+    private static final int LEAVES_PER_THREAD = 8;
+
+    private final Leaf leaf;
+    /* Set once any leaf throws, so that leaves which have not started yet are skipped */
+    private final AtomicBoolean failed;
+    private final long grain;
+    private final long fromIndex;
+    private final long toIndex;
+    private ParallelForTask nextForked;
+
+    private ParallelForTask(Leaf leaf, AtomicBoolean failed, long grain, long fromIndex, long toIndex) {
+        this.leaf = leaf;
+        this.failed = failed;
+        this.grain = grain;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+    }
+
+    static void run(long length, Leaf leaf, ForkJoinPool pool, int minimumGrain) {
+        // run a growing prefix on the calling thread, to measure how expensive the action is
+        long probed = 0;
+        long probeLength = minimumGrain;
+        long elapsed = 0;
+        long probeLimit = length / LEAVES_PER_THREAD;
+        while (elapsed < PROBE_NANOS && probed < probeLimit) {
+            long probeEnd = Math.min(probed + probeLength, probeLimit);
+            long start = System.nanoTime();
+            leaf.run(probed, probeEnd);
+            elapsed += System.nanoTime() - start;
+
+            probed = probeEnd;
+            probeLength *= 2;
+        }
+
+        if (probed < length) {
+            double nanosPerElement = (double) Math.max(elapsed, 1) / Math.max(probed, 1);
+            long balancedGrain = (length - probed) / ((long) pool.getParallelism() * LEAVES_PER_THREAD);
+            long grain = Math.max(minimumGrain, Math.min((long) (TARGET_LEAF_NANOS / nanosPerElement), balancedGrain));
+
+            pool.invoke(new ParallelForTask(leaf, new AtomicBoolean(), grain, probed, length));
+        }
+    }
+
+    @Override
+    protected void compute() {
+        long from = fromIndex;
+        long to = toIndex;
+
+        // fork off right halves until the rest is small enough, then run it as a leaf
+        ParallelForTask forked = null;
+        while (to - from > grain && !failed.get()) {
+            long middle = (from + to) >>> 1;
+            ParallelForTask right = new ParallelForTask(leaf, failed, grain, middle, to);
+            right.nextForked = forked;
+            forked = right;
+            right.fork();
+            to = middle;
+        }
+
+        Throwable failure = null;
+        try {
+            if (!failed.get()) {
+                leaf.run(from, to);
+            }
+        } catch (Throwable t) {
+            failed.set(true);
+            failure = t;
+        }
+
+        // wait for every forked task, even after a failure, so that no leaf runs once the caller has returned
+        for (; forked != null; forked = forked.nextForked) {
+            if (forked.tryUnfork()) {
+                if (failure == null) {
+                    try {
+                        forked.compute();
+                    } catch (Throwable t) {
+                        failure = t;
+                    }
+                }
+            } else {
+                forked.quietlyJoin();
+                if (failure == null && forked.isCompletedAbnormally()) {
+                    failure = forked.getException();
+                }
+            }
+        }
+
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    /**
+     * Runs a contiguous range of indices as a single leaf, so that any per-leaf state, like a cursor,
+     * is set up once per leaf rather than once per index.
+     */
+    @FunctionalInterface
+    interface Leaf {
+        void run(long fromIndex, long toIndex);
+    }
+}
@@ -20,8 +20,29 @@
  */
 package xyz.jmburns.rangefun;
 
-import java.util.Iterator;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * This class represents an progression of integers, as built by the
@@ -33,6 +54,9 @@ import java.util.Objects;
  * completely immutable.
  */
 public final class Progression implements Iterable<Integer>, Comparable<Progression> {
+    /* the largest step magnitude, 2^31, which is stored as Integer.MIN_VALUE */
+    private static final long MAX_STEP = 1L << 31;
+
     private final int low;
     private final int high;
     private final int step;
@@ -60,6 +84,9 @@ public final class Progression implements Iterable<Integer>, Comparable<Progress
      *         progression is iterated backwards.
      */
     public Progression reverse() {
+        if (backwards) {
+            return new Progression(low, high, step);
+        }
         return new Progression(high, low, step);
     }
 
@@ -77,8 +104,422 @@ public final class Progression implements Iterable<Integer>, Comparable<Progress
      * @see xyz.jmburns.rangefun.Progressions#range(int, int)
      */
     public boolean contains(int integer) {
-        return (integer > low || integer < high) && 
-               Math.floorMod(integer - low, step) == 0;
+        int distance = backwards ? high - integer : integer - low;
+        return low <= integer && integer <= high &&
+               Integer.remainderUnsigned(distance, step) == 0;
+    }
+
+    /**
+     * Returns the index at which iteration over this progression would produce the given integer.
+     *
+     * For example, {@code Progressions.progression(1, 9, 2).indexOf(7)} would evaluate to 3, while
+     * {@code Progressions.progression(9, 1, 2).indexOf(7)} would evaluate to 1.
+     *
+     * @implNote This method is guaranteed to run in constant time.
+     *
+     * @param integer the integer to look up
+     * @return the index of the given integer, or -1 if this progression does not contain it
+     * @throws ArithmeticException if the index does not fit in an int
+     * @see Progression#get(int)
+     */
+    public int indexOf(int integer) {
+        long index = longIndexOf(integer);
+        return index < 0 ? -1 : Math.toIntExact(index);
+    }
+
+    long longIndexOf(int integer) {
+        if (!contains(integer)) {
+            return -1;
+        }
+        int distance = backwards ? high - integer : integer - low;
+        return Integer.toUnsignedLong(distance) / unsignedStep();
+    }
+
+    /**
+     * Returns the last integer in iteration order that comes no later than the given integer would. For
+     * ascending progressions, this is the greatest integer less than or equal to the given one, while for
+     * backwards progressions, it is the least integer greater than or equal to it, just like
+     * {@link java.util.NavigableSet#floor(Object)} on a set in descending order.
+     *
+     * For example, {@code Progressions.progression(0, 20, 5).floor(12)} would evaluate to 10, while
+     * {@code Progressions.progression(20, 0, 5).floor(12)} would evaluate to 15.
+     *
+     * @implNote This method is guaranteed to run in constant time.
+     *
+     * @param integer the integer to look up
+     * @return the floor of the given integer, or an empty OptionalInt if there is none
+     */
+    public OptionalInt floor(int integer) {
+        return backwards ? leastAtLeast(integer) : greatestAtMost(integer);
+    }
+
+    /**
+     * Returns the first integer in iteration order that comes no earlier than the given integer would. For
+     * ascending progressions, this is the least integer greater than or equal to the given one, while for
+     * backwards progressions, it is the greatest integer less than or equal to it.
+     *
+     * @implNote This method is guaranteed to run in constant time.
+     *
+     * @param integer the integer to look up
+     * @return the ceiling of the given integer, or an empty OptionalInt if there is none
+     * @see Progression#floor(int)
+     */
+    public OptionalInt ceiling(int integer) {
+        return backwards ? greatestAtMost(integer) : leastAtLeast(integer);
+    }
+
+    /**
+     * Returns the last integer in iteration order that comes strictly before the given integer would.
+     *
+     * @implNote This method is guaranteed to run in constant time.
+     *
+     * @param integer the integer to look up
+     * @return the integer before the given one, or an empty OptionalInt if there is none
+     * @see Progression#floor(int)
+     */
+    public OptionalInt lower(int integer) {
+        return backwards ? leastAtLeast(integer + 1L) : greatestAtMost(integer - 1L);
+    }
+
+    /**
+     * Returns the first integer in iteration order that comes strictly after the given integer would.
+     *
+     * @implNote This method is guaranteed to run in constant time.
+     *
+     * @param integer the integer to look up
+     * @return the integer after the given one, or an empty OptionalInt if there is none
+     * @see Progression#ceiling(int)
+     */
+    public OptionalInt higher(int integer) {
+        return backwards ? greatestAtMost(integer - 1L) : leastAtLeast(integer + 1L);
+    }
+
+    private OptionalInt greatestAtMost(long value) {
+        long min = min();
+        if (value < min) {
+            return OptionalInt.empty();
+        }
+        if (value >= max()) {
+            return OptionalInt.of(max());
+        }
+        long step = unsignedStep();
+        return OptionalInt.of((int) (min + (((value - min) / step) * step)));
+    }
+
+    private OptionalInt leastAtLeast(long value) {
+        long max = max();
+        if (value > max) {
+            return OptionalInt.empty();
+        }
+        if (value <= min()) {
+            return OptionalInt.of(min());
+        }
+        long step = unsignedStep();
+        return OptionalInt.of((int) (max - (((max - value) / step) * step)));
+    }
+
+    /**
+     * Calculates the integers that iteration over both this progression and the given one would produce.
+     *
+     * For example, {@code Progressions.progression(0, 30, 4).intersect(Progressions.progression(2, 40, 6))}
+     * would evaluate to a progression of 8, 20. The result is iterated in the same direction as this progression.
+     *
+     * @implNote The intersection is solved with the Chinese remainder theorem, so this method runs in
+     * logarithmic time, and never iterates over either progression.
+     *
+     * @param other the progression to intersect with this one
+     * @return the intersection of both progressions, or an empty Optional if they have no integers in common
+     * @throws NullPointerException if the given progression is null
+     * @throws ArithmeticException if the intersection holds more than one integer, and its step does not fit
+     *         in an int
+     */
+    public Optional<Progression> intersect(Progression other) {
+        Objects.requireNonNull(other);
+
+        long first = firstCommonMember(other);
+        long upper = Math.min(max(), other.max());
+        if (first > upper) {
+            return Optional.empty();
+        }
+
+        long step = lcm(unsignedStep(), other.unsignedStep());
+        long last = first + (((upper - first) / step) * step);
+        if (first == last) {
+            return Optional.of(new Progression((int) first, (int) first, 1));
+        }
+        if (step > MAX_STEP) {
+            throw new ArithmeticException("the step of the intersection does not fit in an int");
+        }
+
+        if (backwards) {
+            return Optional.of(new Progression((int) last, (int) first, (int) step));
+        }
+        return Optional.of(new Progression((int) first, (int) last, (int) step));
+    }
+
+    /**
+     * Determines whether or not iteration over this progression and the given one would produce
+     * at least one common integer.
+     *
+     * @implNote This method runs in logarithmic time, and never iterates over either progression.
+     *
+     * @param other the progression to check against this one
+     * @return true if both progressions have at least one integer in common, false otherwise
+     * @throws NullPointerException if the given progression is null
+     * @see Progression#intersect(Progression)
+     */
+    public boolean overlaps(Progression other) {
+        Objects.requireNonNull(other);
+        return firstCommonMember(other) <= Math.min(max(), other.max());
+    }
+
+    /**
+     * Determines whether or not every integer produced by iteration over this progression would also
+     * be produced by iteration over the given one. Iteration order is not taken into account.
+     *
+     * For example, {@code Progressions.progression(4, 16, 4).isSubsetOf(Progressions.progression(0, 20, 2))}
+     * would evaluate to {@code true}.
+     *
+     * @implNote This method runs in constant time, and never iterates over either progression.
+     *
+     * @param other the progression to check against this one
+     * @return true if the given progression contains every integer in this progression, false otherwise
+     * @throws NullPointerException if the given progression is null
+     */
+    public boolean isSubsetOf(Progression other) {
+        Objects.requireNonNull(other);
+        if (min() == max()) {
+            return other.contains(min());
+        }
+        return other.min() <= min() && max() <= other.max() &&
+               unsignedStep() % other.unsignedStep() == 0 && other.contains(min());
+    }
+
+    /**
+     * Solves x = min() (mod step) and x = other.min() (mod other.step) for the smallest x that is no
+     * smaller than either minimum, returning Long.MAX_VALUE if no such x exists.
+     */
+    private long firstCommonMember(Progression other) {
+        long step = unsignedStep();
+        long otherStep = other.unsignedStep();
+        long gcd = gcd(step, otherStep);
+        long difference = (long) other.min() - min();
+        if (difference % gcd != 0) {
+            return Long.MAX_VALUE;
+        }
+
+        long modulus = otherStep / gcd;
+        long multiplier = Math.floorMod((difference / gcd) % modulus * modularInverse(step / gcd, modulus), modulus);
+        long solution = min() + (step * multiplier);
+
+        long lcm = (step / gcd) * otherStep;
+        long lower = Math.max(min(), other.min());
+        return lower + Math.floorMod(solution - lower, lcm);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+
+    private static long lcm(long a, long b) {
+        return (a / gcd(a, b)) * b;
+    }
+
+    private static long modularInverse(long value, long modulus) {
+        //invariants: gcd(value, modulus) == 1
+        long inverse = 0, nextInverse = 1;
+        long remainder = modulus, nextRemainder = value % modulus;
+        while (nextRemainder != 0) {
+            long quotient = remainder / nextRemainder;
+
+            long previousInverse = inverse;
+            inverse = nextInverse;
+            nextInverse = previousInverse - (quotient * nextInverse);
+
+            long previousRemainder = remainder;
+            remainder = nextRemainder;
+            nextRemainder = previousRemainder - (quotient * nextRemainder);
+        }
+        return Math.floorMod(inverse, modulus);
+    }
+
+    /**
+     * Splits this progression into the given number of contiguous parts, whose lengths differ by at most one.
+     * The parts keep the step and direction of this progression, and appear in iteration order.
+     *
+     * For example, {@code Progressions.range(0, 9).partition(3)} would evaluate to a list of
+     * {@code range(0, 3)}, {@code range(4, 6)}, and {@code range(7, 9)}.
+     *
+     * @implNote The returned list is lazily-evaluated, so each part is calculated in constant time, when
+     * it is requested, and nothing is materialized up front.
+     *
+     * @param parts the number of parts to split this progression into
+     * @return an unmodifiable list of the parts, which holds fewer than {@code parts} progressions only if this
+     *         progression is shorter than that, in which case every part holds a single integer
+     * @throws IllegalArgumentException if parts is not positive
+     * @see Progression#shard(int, int)
+     */
+    public List<Progression> partition(int parts) {
+        if (parts <= 0) { throw new IllegalArgumentException("parts must be positive"); }
+
+        return new Partition(parts);
+    }
+
+    /**
+     * Returns the interleaved share of this progression that belongs to the given shard, out of the given
+     * number of shards. The share holds every {@code shardCount}-th integer, starting at index {@code shardId},
+     * so the shares of all shards together cover this progression exactly once.
+     *
+     * For example, {@code Progressions.range(0, 9).shard(3, 1)} would evaluate to {@code progression(1, 7, 3)}.
+     *
+     * @implNote This method runs in constant time.
+     *
+     * @param shardCount the total number of shards
+     * @param shardId the shard whose share to return, counting from zero
+     * @return the share of the given shard, or an empty Optional if this progression is too short to give
+     *         that shard anything
+     * @throws IllegalArgumentException if shardCount is not positive
+     * @throws IndexOutOfBoundsException if shardId is negative or greater than or equal to shardCount
+     * @throws ArithmeticException if the share holds more than one integer, and its step does not fit in an int
+     * @see Progression#partition(int)
+     */
+    public Optional<Progression> shard(int shardCount, int shardId) {
+        if (shardCount <= 0) { throw new IllegalArgumentException("shardCount must be positive"); }
+        Objects.checkIndex(shardId, shardCount);
+
+        long length = longLength();
+        if (shardId >= length) {
+            return Optional.empty();
+        }
+
+        long lastIndex = shardId + (((length - 1 - shardId) / shardCount) * shardCount);
+        long shardStep = unsignedStep() * shardCount;
+        if (lastIndex == shardId) {
+            int only = calculateForIndex(shardId);
+            return Optional.of(new Progression(only, only, step));
+        }
+        if (shardStep > MAX_STEP) {
+            throw new ArithmeticException("the step of the shard does not fit in an int");
+        }
+
+        return Optional.of(new Progression(
+                calculateForIndex(shardId),
+                calculateForIndex((int) lastIndex),
+                (int) shardStep
+        ));
+    }
+
+    /**
+     * Returns the integers of this progression between the given indices, as a new progression with the same
+     * step and direction. For example, {@code Progressions.range(10, 20).slice(2, 5)} would evaluate to
+     * {@code range(12, 14)}, while {@code Progressions.range(20, 10).slice(2, 5)} would evaluate to
+     * {@code range(18, 16)}.
+     *
+     * @implNote This method runs in constant time.
+     *
+     * @param fromIndex the index of the first integer in the slice, inclusive
+     * @param toIndex the index of the last integer in the slice, exclusive
+     * @return the slice, or an empty Optional if fromIndex == toIndex
+     * @throws IndexOutOfBoundsException if fromIndex is negative, toIndex is greater than {@link #length()},
+     *         or fromIndex is greater than toIndex
+     */
+    public Optional<Progression> slice(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, (int) Math.min(longLength(), Integer.MAX_VALUE));
+        return sliceOf(fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the first {@code count} integers of this progression, as a new progression with the same step and
+     * direction. If this progression is shorter than that, all of it is returned.
+     *
+     * @implNote This method runs in constant time.
+     *
+     * @param count the number of integers to take
+     * @return the first count integers, or an empty Optional if count is zero
+     * @throws IllegalArgumentException if count is negative
+     * @see Progression#slice(int, int)
+     */
+    public Optional<Progression> take(int count) {
+        if (count < 0) { throw new IllegalArgumentException("count cannot be negative"); }
+        return sliceOf(0, Math.min(count, longLength()));
+    }
+
+    /**
+     * Returns all but the first {@code count} integers of this progression, as a new progression with the same
+     * step and direction.
+     *
+     * @implNote This method runs in constant time.
+     *
+     * @param count the number of integers to drop
+     * @return the remaining integers, or an empty Optional if count is at least {@link #length()}
+     * @throws IllegalArgumentException if count is negative
+     * @see Progression#slice(int, int)
+     */
+    public Optional<Progression> drop(int count) {
+        if (count < 0) { throw new IllegalArgumentException("count cannot be negative"); }
+        long length = longLength();
+        return sliceOf(Math.min(count, length), length);
+    }
+
+    /**
+     * Returns every {@code k}-th integer of this progression, starting with the first, as a new progression
+     * in the same direction. For example, {@code Progressions.range(0, 10).stepBy(4)} would evaluate to
+     * {@code progression(0, 8, 4)}.
+     *
+     * @implNote This method runs in constant time, and behaves exactly as if calling
+     * {@code shard(k, 0).get()}.
+     *
+     * @param k the number of integers to advance by
+     * @return a new progression holding every k-th integer of this one
+     * @throws IllegalArgumentException if k is not positive
+     * @throws ArithmeticException if the result holds more than one integer, and its step does not fit in an int
+     * @see Progression#shard(int, int)
+     */
+    public Progression stepBy(int k) {
+        if (k <= 0) { throw new IllegalArgumentException("k must be positive"); }
+        return shard(k, 0).get();
+    }
+
+    private Optional<Progression> sliceOf(long fromIndex, long toIndex) {
+        if (fromIndex == toIndex) {
+            return Optional.empty();
+        }
+        return Optional.of(new Progression(
+                calculateForIndex((int) fromIndex),
+                calculateForIndex((int) (toIndex - 1)),
+                step
+        ));
+    }
+
+    private final class Partition extends AbstractList<Progression> implements RandomAccess {
+        private final int size;
+        private final long baseLength;
+        private final long remainder;
+
+        Partition(int parts) {
+            long length = longLength();
+            this.size = (int) Math.min(parts, length);
+            this.baseLength = length / size;
+            this.remainder = length % size;
+        }
+
+        @Override
+        public Progression get(int index) {
+            Objects.checkIndex(index, size);
+            long first = (index * baseLength) + Math.min(index, remainder);
+            long last = first + baseLength - (index < remainder ? 0 : 1);
+            return new Progression(calculateForIndex((int) first), calculateForIndex((int) last), step);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
     }
 
     /**
@@ -103,7 +544,7 @@ public final class Progression implements Iterable<Integer>, Comparable<Progress
         return calculateForIndex(index);
     }
 
-    private int calculateForIndex(int index) {
+    int calculateForIndex(int index) {
         if (backwards) {
             return high - (step * index);
         }
@@ -122,40 +563,904 @@ public final class Progression implements Iterable<Integer>, Comparable<Progress
     public Integer[] toArray() {
         int length = length();
         Integer[] array = new Integer[length];
+        boolean monitored = ProgressionMonitor.isMonitored(length);
+        long startNanos = monitored ? System.nanoTime() : 0;
+
+        int first = calculateForIndex(0);
+        int delta = backwards ? -step : step;
+        for (int index = 0; index < length; index++) {
+            array[index] = first + (delta * index);
+        }
+
+        if (monitored) { ProgressionMonitor.materialized("toArray", this, startNanos); }
+        return array;
+    }
+
+    /**
+     * Returns a new {@code int} array filled with all the integers in this progression, in iteration order.
+     *
+     * For example, {@code Progressions.range(1, 5).toIntArray()} will evaluate to an array containing the
+     * integers 1, 2, 3, 4, 5.
+     *
+     * @implNote Unlike {@link #toArray()}, this method never boxes, and fills the array with a simple
+     * indexed loop.
+     *
+     * @return a new int array filled by all the integers in this progression
+     * @see Progression#toIntArray(int[], int)
+     */
+    public int[] toIntArray() {
+        return toIntArray(new int[length()], 0);
+    }
+
+    /**
+     * Writes all the integers in this progression, in iteration order, into the given array,
+     * starting at the given offset. This allows a single buffer to be reused across many progressions.
+     *
+     * For example, {@code Progressions.range(1, 3).toIntArray(new int[5], 2)} will evaluate to an
+     * array containing the integers 0, 0, 1, 2, 3.
+     *
+     * @param destination the array to write the integers into
+     * @param offset the index in the destination array at which to write the first integer
+     * @return the given destination array
+     * @throws NullPointerException if the given array is null
+     * @throws IndexOutOfBoundsException if the offset is negative, or if the destination array has fewer
+     *         than {@link #length()} elements from the offset onwards. Nothing is written in that case
+     */
+    public int[] toIntArray(int[] destination, int offset) {
+        Objects.requireNonNull(destination);
+        int length = length();
+        Objects.checkFromIndexSize(offset, length, destination.length);
+        boolean monitored = ProgressionMonitor.isMonitored(length);
+        long startNanos = monitored ? System.nanoTime() : 0;
+
+        int first = calculateForIndex(0);
+        int delta = backwards ? -step : step;
+        for (int index = 0; index < length; index++) {
+            destination[offset + index] = first + (delta * index);
+        }
+
+        if (monitored) { ProgressionMonitor.materialized("toIntArray", this, startNanos); }
+        return destination;
+    }
+
+    /**
+     * Copies the elements of the source array at the indices in this progression, in iteration order, into
+     * the start of the destination array. For example, {@code progression(0, 8, 4).gather(source, destination)}
+     * copies {@code source[0]}, {@code source[4]} and {@code source[8]} into {@code destination[0..2]}.
+     *
+     * @implNote The indices are checked against both arrays once, up front. Ascending ranges are copied with
+     * {@link System#arraycopy}, and everything else with a simple strided loop.
+     *
+     * @param source the array to read from, at the indices in this progression
+     * @param destination the array to write to, from index 0
+     * @return the given destination array
+     * @throws NullPointerException if either array is null
+     * @throws IndexOutOfBoundsException if any index in this progression is outside of the source array, or if
+     *         the destination array has fewer than {@link #length()} elements. Nothing is copied in that case
+     * @see Progression#scatter(int[], int[])
+     */
+    public int[] gather(int[] source, int[] destination) {
+        int length = checkIndices(source.length);
+        Objects.checkFromIndexSize(0, length, destination.length);
+        if (isAscendingRange()) {
+            System.arraycopy(source, low, destination, 0, length);
+            return destination;
+        }
+
+        int first = calculateForIndex(0);
+        int delta = backwards ? -step : step;
+        for (int index = 0; index < length; index++) {
+            destination[index] = source[first + (delta * index)];
+        }
+        return destination;
+    }
 
-        int index = 0;
-        for (Integer integer : this) {
-            array[index] = integer;
-            index++;
+    /**
+     * Copies the elements at the start of the source array into the destination array, at the indices in this
+     * progression, in iteration order. This is the inverse of {@link #gather(int[], int[])}.
+     *
+     * @implNote The indices are checked against both arrays once, up front. Ascending ranges are copied with
+     * {@link System#arraycopy}, and everything else with a simple strided loop.
+     *
+     * @param source the array to read from, from index 0
+     * @param destination the array to write to, at the indices in this progression
+     * @return the given destination array
+     * @throws NullPointerException if either array is null
+     * @throws IndexOutOfBoundsException if any index in this progression is outside of the destination array,
+     *         or if the source array has fewer than {@link #length()} elements. Nothing is copied in that case
+     * @see Progression#gather(int[], int[])
+     */
+    public int[] scatter(int[] source, int[] destination) {
+        int length = checkIndices(destination.length);
+        Objects.checkFromIndexSize(0, length, source.length);
+        if (isAscendingRange()) {
+            System.arraycopy(source, 0, destination, low, length);
+            return destination;
+        }
+
+        int first = calculateForIndex(0);
+        int delta = backwards ? -step : step;
+        for (int index = 0; index < length; index++) {
+            destination[first + (delta * index)] = source[index];
+        }
+        return destination;
+    }
+
+    /**
+     * Assigns the given value to the elements of the array at the indices in this progression.
+     *
+     * @implNote Ranges are filled with {@link Arrays#fill(int[], int, int, int)}, and everything else with a
+     * simple strided loop.
+     *
+     * @param array the array to fill
+     * @param value the value to assign
+     * @return the given array
+     * @throws NullPointerException if the array is null
+     * @throws IndexOutOfBoundsException if any index in this progression is outside of the array. Nothing is
+     *         assigned in that case
+     */
+    public int[] fill(int[] array, int value) {
+        int length = checkIndices(array.length);
+        if (step == 1) {
+            Arrays.fill(array, low, high + 1, value);
+            return array;
         }
 
+        int first = min();
+        for (int index = 0; index < length; index++) {
+            array[first + (step * index)] = value;
+        }
         return array;
     }
 
+    /**
+     * Copies the elements of the source array at the indices in this progression, in iteration order, into
+     * the start of the destination array. This is the {@code long} array equivalent of
+     * {@link #gather(int[], int[])}.
+     *
+     * @param source the array to read from, at the indices in this progression
+     * @param destination the array to write to, from index 0
+     * @return the given destination array
+     * @throws NullPointerException if either array is null
+     * @throws IndexOutOfBoundsException if any index in this progression is outside of the source array, or if
+     *         the destination array has fewer than {@link #length()} elements
+     */
+    public long[] gather(long[] source, long[] destination) {
+        int length = checkIndices(source.length);
+        Objects.checkFromIndexSize(0, length, destination.length);
+        if (isAscendingRange()) {
+            System.arraycopy(source, low, destination, 0, length);
+            return destination;
+        }
+
+        int first = calculateForIndex(0);
+        int delta = backwards ? -step : step;
+        for (int index = 0; index < length; index++) {
+            destination[index] = source[first + (delta * index)];
+        }
+        return destination;
+    }
+
+    /**
+     * Copies the elements at the start of the source array into the destination array, at the indices in this
+     * progression, in iteration order. This is the {@code long} array equivalent of
+     * {@link #scatter(int[], int[])}.
+     *
+     * @param source the array to read from, from index 0
+     * @param destination the array to write to, at the indices in this progression
+     * @return the given destination array
+     * @throws NullPointerException if either array is null
+     * @throws IndexOutOfBoundsException if any index in this progression is outside of the destination array,
+     *         or if the source array has fewer than {@link #length()} elements
+     */
+    public long[] scatter(long[] source, long[] destination) {
+        int length = checkIndices(destination.length);
+        Objects.checkFromIndexSize(0, length, source.length);
+        if (isAscendingRange()) {
+            System.arraycopy(source, 0, destination, low, length);
+            return destination;
+        }
+
+        int first = calculateForIndex(0);
+        int delta = backwards ? -step : step;
+        for (int index = 0; index < length; index++) {
+            destination[first + (delta * index)] = source[index];
+        }
+        return destination;
+    }
+
+    /**
+     * Assigns the given value to the elements of the array at the indices in this progression. This is the
+     * {@code long} array equivalent of {@link #fill(int[], int)}.
+     *
+     * @param array the array to fill
+     * @param value the value to assign
+     * @return the given array
+     * @throws NullPointerException if the array is null
+     * @throws IndexOutOfBoundsException if any index in this progression is outside of the array
+     */
+    public long[] fill(long[] array, long value) {
+        int length = checkIndices(array.length);
+        if (step == 1) {
+            Arrays.fill(array, low, high + 1, value);
+            return array;
+        }
+
+        int first = min();
+        for (int index = 0; index < length; index++) {
+            array[first + (step * index)] = value;
+        }
+        return array;
+    }
+
+    /**
+     * Copies the elements of the source array at the indices in this progression, in iteration order, into
+     * the start of the destination array. This is the {@code double} array equivalent of
+     * {@link #gather(int[], int[])}.
+     *
+     * @param source the array to read from, at the indices in this progression
+     * @param destination the array to write to, from index 0
+     * @return the given destination array
+     * @throws NullPointerException if either array is null
+     * @throws IndexOutOfBoundsException if any index in this progression is outside of the source array, or if
+     *         the destination array has fewer than {@link #length()} elements
+     */
+    public double[] gather(double[] source, double[] destination) {
+        int length = checkIndices(source.length);
+        Objects.checkFromIndexSize(0, length, destination.length);
+        if (isAscendingRange()) {
+            System.arraycopy(source, low, destination, 0, length);
+            return destination;
+        }
+
+        int first = calculateForIndex(0);
+        int delta = backwards ? -step : step;
+        for (int index = 0; index < length; index++) {
+            destination[index] = source[first + (delta * index)];
+        }
+        return destination;
+    }
+
+    /**
+     * Copies the elements at the start of the source array into the destination array, at the indices in this
+     * progression, in iteration order. This is the {@code double} array equivalent of
+     * {@link #scatter(int[], int[])}.
+     *
+     * @param source the array to read from, from index 0
+     * @param destination the array to write to, at the indices in this progression
+     * @return the given destination array
+     * @throws NullPointerException if either array is null
+     * @throws IndexOutOfBoundsException if any index in this progression is outside of the destination array,
+     *         or if the source array has fewer than {@link #length()} elements
+     */
+    public double[] scatter(double[] source, double[] destination) {
+        int length = checkIndices(destination.length);
+        Objects.checkFromIndexSize(0, length, source.length);
+        if (isAscendingRange()) {
+            System.arraycopy(source, 0, destination, low, length);
+            return destination;
+        }
+
+        int first = calculateForIndex(0);
+        int delta = backwards ? -step : step;
+        for (int index = 0; index < length; index++) {
+            destination[first + (delta * index)] = source[index];
+        }
+        return destination;
+    }
+
+    /**
+     * Assigns the given value to the elements of the array at the indices in this progression. This is the
+     * {@code double} array equivalent of {@link #fill(int[], int)}.
+     *
+     * @param array the array to fill
+     * @param value the value to assign
+     * @return the given array
+     * @throws NullPointerException if the array is null
+     * @throws IndexOutOfBoundsException if any index in this progression is outside of the array
+     */
+    public double[] fill(double[] array, double value) {
+        int length = checkIndices(array.length);
+        if (step == 1) {
+            Arrays.fill(array, low, high + 1, value);
+            return array;
+        }
+
+        int first = min();
+        for (int index = 0; index < length; index++) {
+            array[first + (step * index)] = value;
+        }
+        return array;
+    }
+
+    /**
+     * Copies the elements of the source array at the indices in this progression, in iteration order, into
+     * the start of the destination array. This is the {@code Object} array equivalent of
+     * {@link #gather(int[], int[])}.
+     *
+     * @param source the array to read from, at the indices in this progression
+     * @param destination the array to write to, from index 0
+     * @return the given destination array
+     * @throws NullPointerException if either array is null
+     * @throws IndexOutOfBoundsException if any index in this progression is outside of the source array, or if
+     *         the destination array has fewer than {@link #length()} elements
+     * @throws ArrayStoreException if an element of the source array cannot be stored in the destination array
+     */
+    public <T> T[] gather(T[] source, T[] destination) {
+        int length = checkIndices(source.length);
+        Objects.checkFromIndexSize(0, length, destination.length);
+        if (isAscendingRange()) {
+            System.arraycopy(source, low, destination, 0, length);
+            return destination;
+        }
+
+        int first = calculateForIndex(0);
+        int delta = backwards ? -step : step;
+        for (int index = 0; index < length; index++) {
+            destination[index] = source[first + (delta * index)];
+        }
+        return destination;
+    }
+
+    /**
+     * Copies the elements at the start of the source array into the destination array, at the indices in this
+     * progression, in iteration order. This is the {@code Object} array equivalent of
+     * {@link #scatter(int[], int[])}.
+     *
+     * @param source the array to read from, from index 0
+     * @param destination the array to write to, at the indices in this progression
+     * @return the given destination array
+     * @throws NullPointerException if either array is null
+     * @throws IndexOutOfBoundsException if any index in this progression is outside of the destination array,
+     *         or if the source array has fewer than {@link #length()} elements
+     * @throws ArrayStoreException if an element of the source array cannot be stored in the destination array
+     */
+    public <T> T[] scatter(T[] source, T[] destination) {
+        int length = checkIndices(destination.length);
+        Objects.checkFromIndexSize(0, length, source.length);
+        if (isAscendingRange()) {
+            System.arraycopy(source, 0, destination, low, length);
+            return destination;
+        }
+
+        int first = calculateForIndex(0);
+        int delta = backwards ? -step : step;
+        for (int index = 0; index < length; index++) {
+            destination[first + (delta * index)] = source[index];
+        }
+        return destination;
+    }
+
+    /**
+     * Assigns the given value to the elements of the array at the indices in this progression. This is the
+     * {@code Object} array equivalent of {@link #fill(int[], int)}.
+     *
+     * @param array the array to fill
+     * @param value the value to assign
+     * @return the given array
+     * @throws NullPointerException if the array is null
+     * @throws IndexOutOfBoundsException if any index in this progression is outside of the array
+     * @throws ArrayStoreException if the value cannot be stored in the array
+     */
+    public <T> T[] fill(T[] array, T value) {
+        int length = checkIndices(array.length);
+        if (step == 1) {
+            Arrays.fill(array, low, high + 1, value);
+            return array;
+        }
+
+        int first = min();
+        for (int index = 0; index < length; index++) {
+            array[first + (step * index)] = value;
+        }
+        return array;
+    }
+
+    /*
+     * Checks every index in this progression against the array at once, so that an out of bounds
+     * progression fails before anything is copied, and the loops can run without checks of their own
+     */
+    private int checkIndices(int arrayLength) {
+        if (min() < 0 || max() >= arrayLength) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "indices %s to %s are out of bounds for length %s", min(), max(), arrayLength
+            ));
+        }
+        return length();
+    }
+
+    private boolean isAscendingRange() {
+        return step == 1 && !backwards;
+    }
+
+    /**
+     * Writes all the integers in this progression, in iteration order, into the given buffer, starting at its
+     * position. The position is advanced past the last integer written.
+     *
+     * @implNote Heap buffers are filled through their backing array, and direct buffers with absolute puts,
+     * so there is no intermediate array, and nothing is boxed.
+     *
+     * @param buffer the buffer to write the integers into
+     * @return the given buffer
+     * @throws NullPointerException if the given buffer is null
+     * @throws ReadOnlyBufferException if the given buffer is read-only
+     * @throws BufferOverflowException if the buffer has fewer than {@link #length()} integers remaining.
+     *         Nothing is written in that case
+     */
+    public IntBuffer writeTo(IntBuffer buffer) {
+        if (buffer.isReadOnly()) { throw new ReadOnlyBufferException(); }
+        int length = length();
+        if (buffer.remaining() < length) { throw new BufferOverflowException(); }
+
+        ProgressionExport.writeRange(this, buffer, 0, length);
+        return buffer;
+    }
+
+    /**
+     * Writes all the integers in this progression, in iteration order, into the given buffer, starting at its
+     * position, four bytes each, in the given byte order. The position is advanced past the last byte written,
+     * and the byte order of the buffer itself is left unchanged.
+     *
+     * This works for any byte buffer, including direct buffers that native code will read, and
+     * {@link java.nio.MappedByteBuffer}s of a file that is mapped into memory.
+     *
+     * @param buffer the buffer to write the integers into
+     * @param order the byte order to write each integer in
+     * @return the given buffer
+     * @throws NullPointerException if the given buffer or byte order is null
+     * @throws ReadOnlyBufferException if the given buffer is read-only
+     * @throws BufferOverflowException if the buffer has fewer than {@code 4 * length()} bytes remaining.
+     *         Nothing is written in that case
+     * @see Progression#writeTo(IntBuffer)
+     */
+    public ByteBuffer writeTo(ByteBuffer buffer, ByteOrder order) {
+        Objects.requireNonNull(order);
+        if (buffer.isReadOnly()) { throw new ReadOnlyBufferException(); }
+        int length = length();
+        if (buffer.remaining() / Integer.BYTES < length) { throw new BufferOverflowException(); }
+
+        IntBuffer integers = buffer.duplicate().order(order).asIntBuffer();
+        ProgressionExport.writeRange(this, integers, 0, length);
+        buffer.position(buffer.position() + (length * Integer.BYTES));
+        return buffer;
+    }
+
+    /**
+     * Writes all the integers in this progression, in iteration order, to the given channel, four bytes each,
+     * in the given byte order. For a {@link FileChannel}, writing starts at the channel's current position.
+     *
+     * @implNote The integers are streamed through a single 64 KiB direct buffer, so memory use stays the same
+     * whatever the length of this progression, and progressions of more than {@code Integer.MAX_VALUE} integers
+     * can be written too.
+     *
+     * @param channel the channel to write the integers to
+     * @param order the byte order to write each integer in
+     * @return the number of bytes written, which is always four times the number of integers
+     * @throws NullPointerException if the given channel or byte order is null
+     * @throws IOException if writing to the channel fails, in which case some integers may have been written
+     * @see Progression#writeMapped(FileChannel, long, ByteOrder)
+     */
+    public long writeTo(WritableByteChannel channel, ByteOrder order) throws IOException {
+        Objects.requireNonNull(channel);
+        Objects.requireNonNull(order);
+
+        return ProgressionExport.toChannel(this, channel, order);
+    }
+
+    /**
+     * Writes all the integers in this progression, in iteration order, into the given file, from the given
+     * position onwards, four bytes each, in the given byte order, by mapping the file into memory and filling
+     * the mapping directly. The file is extended if it is too short, and the channel's own position is left
+     * unchanged.
+     *
+     * The changes reach the file when the operating system writes them out, or when
+     * {@link FileChannel#force(boolean)} is called.
+     *
+     * @implNote The file is mapped 256 MiB at a time.
+     *
+     * @param channel the channel of the file to write to, which must be open for reading and writing
+     * @param position the position in the file at which to write the first integer
+     * @param order the byte order to write each integer in
+     * @return the number of bytes written, which is always four times the number of integers
+     * @throws NullPointerException if the given channel or byte order is null
+     * @throws IllegalArgumentException if the position is negative
+     * @throws java.nio.channels.NonWritableChannelException if the channel was not opened for both
+     *         reading and writing
+     * @throws IOException if mapping the file fails
+     * @see Progression#writeTo(WritableByteChannel, ByteOrder)
+     */
+    public long writeMapped(FileChannel channel, long position, ByteOrder order) throws IOException {
+        Objects.requireNonNull(channel);
+        Objects.requireNonNull(order);
+        if (position < 0) { throw new IllegalArgumentException("position cannot be negative"); }
+
+        return ProgressionExport.toMappedFile(this, channel, position, order);
+    }
+
     /**
      * Calculates the length of this progression, with the step value taken into account.
      * For example, {@code progression(0, 6, 2).length()} will evaluate to 3.
      *
      * @return the length of the progression
+     * @throws ArithmeticException if the progression holds more than {@code Integer.MAX_VALUE} integers,
+     *         as {@code range(Integer.MIN_VALUE, Integer.MAX_VALUE)} does
      */
     public int length() {
         if (length == -1) {
-            length = ((high - low) / step) + 1;
+            length = Math.toIntExact(longLength());
         }
         return length;
     }
 
     /**
+     * Returns the smallest integer in this progression, whichever direction it is iterated in.
+     * For example, {@code progression(10, 0, 3).min()} will evaluate to 1.
+     *
+     * @return the smallest integer in this progression
+     */
+    public int min() {
+        if (backwards) {
+            return last();
+        }
+        return low;
+    }
+
+    /**
+     * Returns the largest integer in this progression, whichever direction it is iterated in.
+     * For example, {@code progression(0, 10, 3).max()} will evaluate to 9.
+     *
+     * @return the largest integer in this progression
+     */
+    public int max() {
+        if (backwards) {
+            return high;
+        }
+        return last();
+    }
+
+    /**
+     * Returns the last integer in this progression, in iteration order. Unlike {@code get(length() - 1)},
+     * this method works for progressions with more than {@code Integer.MAX_VALUE} integers.
+     * For example, {@code progression(0, 10, 3).last()} will evaluate to 9.
+     *
+     * @return the last integer in this progression
+     */
+    public int last() {
+        return calculateForIndex((int) (longLength() - 1));
+    }
+
+    /**
+     * Calculates the sum of all the integers in this progression.
+     *
+     * @implNote The sum is calculated with the arithmetic series formula, so this method runs in constant time.
+     * It never overflows: the integers of any progression sum to no more than 2^62 in either direction.
+     *
+     * @return the sum of all the integers in this progression
+     */
+    public long sum() {
+        long length = longLength();
+        long ends = (long) min() + max();
+
+        // one of the two is always even, since max() - min() == (length - 1) * step
+        if ((length & 1) == 0) {
+            return (length / 2) * ends;
+        }
+        return length * (ends / 2);
+    }
+
+    /**
+     * Calculates the sum of the squares of all the integers in this progression.
+     *
+     * @implNote The sum is calculated in closed form, so this method runs in constant time.
+     *
+     * @return the sum of the squares of all the integers in this progression
+     * @throws ArithmeticException if the sum does not fit in a {@code long}, as for
+     *         {@code range(0, 4_000_000)}
+     * @see Progression#sumOfSquaresAsBigInteger()
+     */
+    public long sumOfSquares() {
+        return sumOfSquaresAsBigInteger().longValueExact();
+    }
+
+    /**
+     * Calculates the sum of the squares of all the integers in this progression, exactly.
+     *
+     * @implNote For {@code n} integers, starting from {@code a = min()} and spaced {@code d} apart, the sum is
+     * {@code n * a^2 + a * d * n * (n - 1) + d^2 * (n - 1) * n * (2n - 1) / 6}, so this method runs in
+     * constant time.
+     *
+     * @return the sum of the squares of all the integers in this progression
+     * @see Progression#sumOfSquares()
+     */
+    public BigInteger sumOfSquaresAsBigInteger() {
+        BigInteger n = BigInteger.valueOf(longLength());
+        BigInteger a = BigInteger.valueOf(min());
+        BigInteger d = BigInteger.valueOf(unsignedStep());
+        BigInteger nMinusOne = n.subtract(BigInteger.ONE);
+
+        BigInteger squares = n.multiply(a).multiply(a);
+        BigInteger crossTerms = a.multiply(d).multiply(n).multiply(nMinusOne);
+        BigInteger stepTerms = d.multiply(d)
+                .multiply(nMinusOne.multiply(n).multiply(n.shiftLeft(1).subtract(BigInteger.ONE)))
+                .divide(BigInteger.valueOf(6));
+
+        return squares.add(crossTerms).add(stepTerms);
+    }
+
+    /**
+     * Calculates the arithmetic mean of all the integers in this progression, which is always halfway
+     * between its smallest and largest integers.
+     *
+     * @implNote This method runs in constant time, and is exact, as the mean is always a whole or half integer.
+     *
+     * @return the mean of all the integers in this progression
+     */
+    public double average() {
+        return ((long) min() + max()) / 2.0;
+    }
+
+    long longLength() {
+        // high - low may overflow, but always fits in an unsigned int
+        return (Integer.toUnsignedLong(high - low) / unsignedStep()) + 1;
+    }
+
+    /*
+     * Math.abs leaves a step of Integer.MIN_VALUE negative, so any arithmetic wider than an int,
+     * like dividing a distance by the step, must treat the step as unsigned to see 2^31
+     */
+    long unsignedStep() {
+        return Integer.toUnsignedLong(step);
+    }
+
+    /**
+     * Performs the given action for each integer in this progression, in iteration order.
+     *
+     * Unlike {@link Iterable#forEach(java.util.function.Consumer)}, the integers are passed to the
+     * action as primitives, so no boxing takes place, regardless of the size of the progression.
+     *
+     * @param action the action to be performed for each integer
+     * @throws NullPointerException if the given action is null
+     */
+    public void forEachInt(IntConsumer action) {
+        Objects.requireNonNull(action);
+        long length = longLength();
+        if (!ProgressionMonitor.isMonitored(length)) {
+            forEachInRange(0, length, action);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        forEachInRange(0, length, action);
+        ProgressionMonitor.iterated("forEachInt", this, startNanos);
+    }
+
+    /**
+     * Performs the given action for each integer in this progression concurrently, with no more than
+     * {@code maxConcurrency} actions in flight at once. This is intended for actions that spend most of
+     * their time blocked, like reading from disk or calling another service, rather than computing.
+     *
+     * This method returns once the action has completed for every integer. If any action throws, no further
+     * integers are handed out, and the first exception is rethrown once the actions already in flight have
+     * completed, with any later ones attached as suppressed exceptions.
+     *
+     * @implNote On Java versions that support virtual threads, each action runs on its own virtual thread,
+     * so that thousands of actions can be in flight cheaply. On older versions, a pool of up to
+     * {@code maxConcurrency} daemon threads is created, and shut down before this method returns.
+     *
+     * @param action the action to be performed for each integer
+     * @param maxConcurrency the most actions that may be in flight at once
+     * @throws NullPointerException if the given action is null
+     * @throws IllegalArgumentException if maxConcurrency is not positive
+     * @throws InterruptedException if the calling thread is interrupted while waiting to hand out an integer, in
+     *         which case no further integers are handed out, and the actions in flight are waited for
+     * @see Progression#forEachConcurrent(IntConsumer, int, Executor)
+     */
+    public void forEachConcurrent(IntConsumer action, int maxConcurrency) throws InterruptedException {
+        Objects.requireNonNull(action);
+        if (maxConcurrency <= 0) { throw new IllegalArgumentException("maxConcurrency must be positive"); }
+
+        ConcurrentForEach.run(this, action, maxConcurrency);
+    }
+
+    /**
+     * Performs the given action for each integer in this progression concurrently, on the given executor,
+     * with no more than {@code maxConcurrency} actions in flight at once. The executor is not shut down.
+     *
+     * @param action the action to be performed for each integer
+     * @param maxConcurrency the most actions that may be in flight at once
+     * @param executor the executor to run the actions on
+     * @throws NullPointerException if the given action or executor is null
+     * @throws IllegalArgumentException if maxConcurrency is not positive
+     * @throws InterruptedException if the calling thread is interrupted while waiting to hand out an integer
+     * @see Progression#forEachConcurrent(IntConsumer, int)
+     */
+    public void forEachConcurrent(IntConsumer action, int maxConcurrency, Executor executor)
+            throws InterruptedException {
+        Objects.requireNonNull(action);
+        Objects.requireNonNull(executor);
+        if (maxConcurrency <= 0) { throw new IllegalArgumentException("maxConcurrency must be positive"); }
+
+        ConcurrentForEach.run(this, action, maxConcurrency, executor);
+    }
+
+    void forEachInRange(long fromIndex, long toIndex, IntConsumer action) {
+        //invariants: 0 <= fromIndex <= toIndex <= longLength()
+        int delta = backwards ? -step : step;
+        int current = calculateForIndex((int) fromIndex);
+
+        for (long remaining = toIndex - fromIndex; remaining > 0; ) {
+            int count = ProgressionIterator.chunk(remaining);
+            for (int i = 0; i < count; i++) {
+                action.accept(current);
+                current += delta;
+            }
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Returns a new primitive iterator over this progression. Iterating with
+     * {@link PrimitiveIterator.OfInt#nextInt()} avoids boxing entirely, while the
+     * for-each loop continues to work through {@link PrimitiveIterator.OfInt#next()}.
+     *
      * @return a new Iterator over this progression
      */
     @Override
-    public Iterator<Integer> iterator() {
+    public PrimitiveIterator.OfInt iterator() {
         if (backwards) {
             return ProgressionIterator.descending(high, low, step);
         }
         return ProgressionIterator.ascending(low, high, step);
     }
 
+    /**
+     * Returns a new primitive spliterator over this progression. The spliterator reports
+     * {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED}, and splits by index, so
+     * parallel processing halves the progression in constant time, without buffering.
+     *
+     * @return a new Spliterator over this progression
+     */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return new ProgressionSpliterator(this, 0, longLength());
+    }
+
+    /**
+     * Returns a sequential {@code IntStream} of the integers in this progression, in iteration order.
+     *
+     * For example, {@code Progressions.progression(0, 10, 5).stream().sum()} will evaluate to 15.
+     *
+     * @return a new sequential IntStream over this progression
+     * @see Progression#spliterator()
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel {@code IntStream} of the integers in this progression. The stream is
+     * backed by {@link #spliterator()}, so it splits by index, just like {@code IntStream.range}.
+     *
+     * @return a new parallel IntStream over this progression
+     * @see Progression#spliterator()
+     */
+    public IntStream parallelStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    /**
+     * Returns a {@link Flow.Publisher} of the integers in this progression, in iteration order, which emits them
+     * on whichever thread calls {@link Flow.Subscription#request(long)}. Each subscriber gets its own pass over
+     * this progression, and is sent exactly as many integers as it requests, then {@code onComplete}.
+     *
+     * Subscribers that implement {@link ProgressionSubscriber} are sent the integers in batches, as progressions,
+     * so that nothing is boxed. A request for {@code n} integers is then answered with as few batches as possible,
+     * usually one. Other subscribers are sent each integer through {@code onNext}.
+     *
+     * Requests made from within {@code onNext}, or {@code onNextBatch}, are not emitted recursively, but once the
+     * current call returns, so that requesting one integer at a time never overflows the stack. A non-positive
+     * request cancels the subscription, and is signalled with an {@link IllegalArgumentException} through
+     * {@code onError}, as the reactive streams specification requires.
+     *
+     * @implNote A subscription holds only the index of the next integer to emit, so it takes constant time and
+     * memory to resume, or cancel, however long this progression is.
+     *
+     * @return a new Publisher of this progression's integers
+     * @see Progression#asPublisher(Executor)
+     */
+    public Flow.Publisher<Integer> asPublisher() {
+        return new ProgressionPublisher(this, null);
+    }
+
+    /**
+     * Returns a {@link Flow.Publisher} of the integers in this progression, in iteration order, which emits them,
+     * including {@code onSubscribe}, from tasks run on the given executor. At most one task per subscriber is
+     * running or queued at a time, and it emits everything that was requested before it finishes, so a subscriber
+     * is never sent signals concurrently. Otherwise, it behaves like {@link #asPublisher()}.
+     *
+     * If the executor rejects a task, the subscription is cancelled, and the
+     * {@link java.util.concurrent.RejectedExecutionException} is signalled through {@code onError}, on the thread
+     * that subscribed or requested.
+     *
+     * @param executor the executor to emit the integers from
+     * @return a new Publisher of this progression's integers
+     * @throws NullPointerException if the given executor is null
+     * @see Progression#asPublisher()
+     */
+    public Flow.Publisher<Integer> asPublisher(Executor executor) {
+        Objects.requireNonNull(executor);
+        return new ProgressionPublisher(this, executor);
+    }
+
+    /**
+     * Returns an {@code IntStream} of the integers in this progression in a pseudo-random order, determined by
+     * the given seed. Every integer appears exactly once, and the same seed always gives the same order.
+     *
+     * Unlike shuffling the result of {@link #toIntArray()}, this never holds more than a few integers in memory,
+     * whatever the length of this progression. The stream splits by position in the shuffled order, so it can
+     * be processed in parallel, with {@link IntStream#parallel()}.
+     *
+     * @implNote The shuffled order comes from a keyed Feistel network over the indices of this progression,
+     * with cycle-walking to keep every index in range. This is a bijection, not a uniformly random permutation:
+     * it is meant for load testing and sampling, not for cryptography or statistics that need true uniformity.
+     * Each integer takes constant time on average to produce.
+     *
+     * @param seed the seed that determines the order
+     * @return a new sequential IntStream of this progression's integers, shuffled
+     */
+    public IntStream shuffled(long seed) {
+        long length = longLength();
+        FeistelPermutation permutation = new FeistelPermutation(length, seed);
+
+        return StreamSupport.intStream(new ShuffledSpliterator(this, permutation, 0, length), false);
+    }
+
+    /**
+     * Chooses the given number of distinct integers from this progression, uniformly at random, and returns
+     * them in ascending order. Every subset of that size is equally likely, and the same seed always gives the
+     * same sample.
+     *
+     * @implNote The integers are chosen by index, with Vitter's sequential sampling, which draws how many indices
+     * to skip between one chosen integer and the next. The integers that are not chosen are never visited, so
+     * this method runs in time and memory proportional to {@code k}, whatever the length of this progression.
+     *
+     * @param k the number of integers to choose
+     * @param seed the seed that determines the sample
+     * @return a new array of {@code k} distinct integers from this progression, in ascending order
+     * @throws IllegalArgumentException if k is negative, or greater than the length of this progression
+     * @see Progression#shuffled(long)
+     */
+    public int[] sample(int k, long seed) {
+        long length = longLength();
+        if (k < 0 || k > length) {
+            throw new IllegalArgumentException(String.format("cannot sample %s of %s integers", k, length));
+        }
+
+        long[] indices = SequentialSampler.sample(length, k, seed);
+        int[] sample = new int[k];
+        for (int i = 0; i < k; i++) {
+            // indices come out ascending, which is descending order for backwards progressions
+            sample[backwards ? k - 1 - i : i] = calculateForIndex((int) indices[i]);
+        }
+        return sample;
+    }
+
+    int low() {
+        return low;
+    }
+
+    int high() {
+        return high;
+    }
+
+    int step() {
+        return step;
+    }
+
+    boolean isBackwards() {
+        return backwards;
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -0,0 +1,433 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * This class represents a two-dimensional grid of integer coordinates, built as the product of a
+ * {@link xyz.jmburns.rangefun.Progression} of rows and a Progression of columns. It replaces nested loops like
+ * {@code for (int row : rows) for (int column : columns)}, without boxing either integer, or creating an
+ * iterator per row.
+ *
+ * Points are ordered row-major, and each point has a linear index, counting from zero, just like the elements
+ * of a flattened matrix. Like {@link xyz.jmburns.rangefun.Progression}, this class is immutable.
+ *
+ * @see ProgressionND
+ */
+public final class Progression2D {
+    private static final int Z_ORDER_BLOCK = 8;
+    private static final byte[] Z_ORDER_ROWS = zOrderOffsets(1);
+    private static final byte[] Z_ORDER_COLUMNS = zOrderOffsets(0);
+
+    private final Progression rows;
+    private final Progression columns;
+    private final long columnCount;
+    private final long size;
+
+    Progression2D(Progression rows, Progression columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.columnCount = columns.longLength();
+        this.size = Math.multiplyExact(rows.longLength(), columnCount);
+    }
+
+    /**
+     * Returns the progression of rows of this grid.
+     *
+     * @return the progression of rows
+     */
+    public Progression rows() {
+        return rows;
+    }
+
+    /**
+     * Returns the progression of columns of this grid.
+     *
+     * @return the progression of columns
+     */
+    public Progression columns() {
+        return columns;
+    }
+
+    /**
+     * Returns the number of points in this grid, which is the number of rows times the number of columns.
+     *
+     * @return the number of points in this grid
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the row of the point at the given linear index.
+     * For example, {@code progression2D(range(0, 1), range(0, 2)).row(4)} will evaluate to 1.
+     *
+     * @implNote This method runs in constant time.
+     *
+     * @param index the linear index to look up
+     * @return the row of the point at the given index
+     * @throws IndexOutOfBoundsException if the given index is negative or greater than or equal to {@link #size()}
+     * @see Progression2D#indexOf(int, int)
+     */
+    public int row(long index) {
+        checkIndex(index);
+        return rows.calculateForIndex((int) (index / columnCount));
+    }
+
+    /**
+     * Returns the column of the point at the given linear index.
+     * For example, {@code progression2D(range(0, 1), range(0, 2)).column(4)} will evaluate to 1.
+     *
+     * @implNote This method runs in constant time.
+     *
+     * @param index the linear index to look up
+     * @return the column of the point at the given index
+     * @throws IndexOutOfBoundsException if the given index is negative or greater than or equal to {@link #size()}
+     * @see Progression2D#indexOf(int, int)
+     */
+    public int column(long index) {
+        checkIndex(index);
+        return columns.calculateForIndex((int) (index % columnCount));
+    }
+
+    /**
+     * Returns the linear index of the point with the given row and column, or -1 if this grid does not hold it.
+     * This is the inverse of {@link #row(long)} and {@link #column(long)}.
+     *
+     * @implNote This method runs in constant time.
+     *
+     * @param row the row of the point
+     * @param column the column of the point
+     * @return the linear index of the point, or -1 if it is not in this grid
+     */
+    public long indexOf(int row, int column) {
+        long rowIndex = rows.longIndexOf(row);
+        long columnIndex = columns.longIndexOf(column);
+        if (rowIndex < 0 || columnIndex < 0) {
+            return -1;
+        }
+        return (rowIndex * columnCount) + columnIndex;
+    }
+
+    /**
+     * Determines whether or not this grid holds the point with the given row and column.
+     *
+     * @param row the row of the point
+     * @param column the column of the point
+     * @return true if the row and the column are both in this grid, false otherwise
+     */
+    public boolean contains(int row, int column) {
+        return rows.contains(row) && columns.contains(column);
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("index %s out of bounds for size %s", index, size));
+        }
+    }
+
+    /**
+     * Performs the given action for each point in this grid, in row-major order, passing it the row and the
+     * column of the point.
+     *
+     * @implNote This method runs as two plain counted loops, so neither integer is boxed, and nothing is
+     * allocated per point.
+     *
+     * @param action the action to be performed for each point
+     * @throws NullPointerException if the given action is null
+     */
+    public void forEach(IntBiConsumer action) {
+        Objects.requireNonNull(action);
+        forEachInRange(0, size, action);
+    }
+
+    void forEachInRange(long fromIndex, long toIndex, IntBiConsumer action) {
+        //invariants: 0 <= fromIndex <= toIndex <= size
+        if (fromIndex >= toIndex) {
+            return;
+        }
+
+        int columnDelta = columns.isBackwards() ? -columns.step() : columns.step();
+        int rowDelta = rows.isBackwards() ? -rows.step() : rows.step();
+        int row = rows.calculateForIndex((int) (fromIndex / columnCount));
+        long columnIndex = fromIndex % columnCount;
+
+        // the first and last rows may be partial, every row in between runs in full
+        for (long remaining = toIndex - fromIndex; remaining > 0; ) {
+            long rowRemaining = Math.min(columnCount - columnIndex, remaining);
+            int column = columns.calculateForIndex((int) columnIndex);
+            remaining -= rowRemaining;
+            while (rowRemaining > 0) {
+                int count = ProgressionIterator.chunk(rowRemaining);
+                for (int i = 0; i < count; i++) {
+                    action.accept(row, column);
+                    column += columnDelta;
+                }
+                rowRemaining -= count;
+            }
+            columnIndex = 0;
+            row += rowDelta;
+        }
+    }
+
+    /**
+     * Performs the given action for each point in this grid, one tile at a time. Tiles are visited in
+     * row-major order, and so are the points within each tile. Tiles on the last rows and columns are cut
+     * short to fit the grid.
+     *
+     * Visiting a small tile of a large matrix at a time keeps the rows and the columns it touches in the cache,
+     * which helps with traversals that access memory in both directions, like transposes and image kernels.
+     *
+     * @implNote Like {@link #forEach(IntBiConsumer)}, this method boxes nothing, and allocates nothing per point.
+     *
+     * @param tileRows the number of rows in each tile
+     * @param tileColumns the number of columns in each tile
+     * @param action the action to be performed for each point
+     * @throws NullPointerException if the given action is null
+     * @throws IllegalArgumentException if either tile dimension is not positive
+     * @see Progression2D#forEachZOrder(IntBiConsumer)
+     */
+    public void forEachTiled(int tileRows, int tileColumns, IntBiConsumer action) {
+        Objects.requireNonNull(action);
+        if (tileRows <= 0 || tileColumns <= 0) { throw new IllegalArgumentException("tile size must be positive"); }
+
+        long rowCount = rows.longLength();
+        int rowDelta = rows.isBackwards() ? -rows.step() : rows.step();
+        int columnDelta = columns.isBackwards() ? -columns.step() : columns.step();
+
+        for (long tileRow = 0; tileRow < rowCount; tileRow += tileRows) {
+            int rowsInTile = (int) Math.min(tileRows, rowCount - tileRow);
+            int firstRow = rows.calculateForIndex((int) tileRow);
+
+            for (long tileColumn = 0; tileColumn < columnCount; tileColumn += tileColumns) {
+                int columnsInTile = (int) Math.min(tileColumns, columnCount - tileColumn);
+                int firstColumn = columns.calculateForIndex((int) tileColumn);
+
+                int row = firstRow;
+                for (int i = 0; i < rowsInTile; i++) {
+                    int column = firstColumn;
+                    for (int j = 0; j < columnsInTile; j++) {
+                        action.accept(row, column);
+                        column += columnDelta;
+                    }
+                    row += rowDelta;
+                }
+            }
+        }
+    }
+
+    /**
+     * Performs the given action for each point in this grid, in Z-order, also known as Morton order. Points
+     * are visited as if the row index and the column index of each were interleaved bit by bit, row bit first,
+     * so the grid is covered one quadrant at a time, recursively: top left, top right, bottom left, bottom
+     * right. For example, a 4 by 4 grid starts with the points at indices (0, 0), (0, 1), (1, 0), (1, 1),
+     * (0, 2), (0, 3), (1, 2) and so on.
+     *
+     * Unlike {@link #forEachTiled(int, int, IntBiConsumer)}, this order keeps nearby points close together at
+     * every scale at once, so it needs no tile size to be tuned to the cache.
+     *
+     * @implNote The grid does not need to be square, or a power of two in size: quadrants that fall entirely
+     * outside the grid are skipped without being visited, so the cost stays proportional to the number of
+     * points. Nothing is boxed, and nothing is allocated per point.
+     *
+     * @param action the action to be performed for each point
+     * @throws NullPointerException if the given action is null
+     * @see Progression2D#forEachTiled(int, int, IntBiConsumer)
+     */
+    public void forEachZOrder(IntBiConsumer action) {
+        Objects.requireNonNull(action);
+
+        long rowCount = rows.longLength();
+        long side = Long.highestOneBit(Math.max(rowCount, columnCount));
+        if (side < Math.max(rowCount, columnCount)) { side <<= 1; }
+
+        visitQuadrant(0, 0, side, rowCount, action);
+    }
+
+    private void visitQuadrant(long row, long column, long side, long rowCount, IntBiConsumer action) {
+        if (row >= rowCount || column >= columnCount) {
+            return;
+        }
+        if (side <= Z_ORDER_BLOCK) {
+            visitBlock(row, column, (int) side, rowCount, action);
+            return;
+        }
+
+        long half = side >>> 1;
+        visitQuadrant(row, column, half, rowCount, action);
+        visitQuadrant(row, column + half, half, rowCount, action);
+        visitQuadrant(row + half, column, half, rowCount, action);
+        visitQuadrant(row + half, column + half, half, rowCount, action);
+    }
+
+    /*
+     * Recursing all the way down to single points would cost a call per point, so the smallest blocks
+     * are walked in a flat loop instead, through the Z-order offsets precomputed for a whole block
+     */
+    private void visitBlock(long row, long column, int side, long rowCount, IntBiConsumer action) {
+        int firstRow = rows.calculateForIndex((int) row);
+        int firstColumn = columns.calculateForIndex((int) column);
+        int rowDelta = rows.isBackwards() ? -rows.step() : rows.step();
+        int columnDelta = columns.isBackwards() ? -columns.step() : columns.step();
+
+        int points = side * side;
+        if (row + side <= rowCount && column + side <= columnCount) {
+            for (int point = 0; point < points; point++) {
+                action.accept(
+                        firstRow + (rowDelta * Z_ORDER_ROWS[point]),
+                        firstColumn + (columnDelta * Z_ORDER_COLUMNS[point])
+                );
+            }
+            return;
+        }
+
+        // a block on the edge of the grid, where some of its points fall outside
+        int rowsInBlock = (int) Math.min(side, rowCount - row);
+        int columnsInBlock = (int) Math.min(side, columnCount - column);
+        for (int point = 0; point < points; point++) {
+            if (Z_ORDER_ROWS[point] < rowsInBlock && Z_ORDER_COLUMNS[point] < columnsInBlock) {
+                action.accept(
+                        firstRow + (rowDelta * Z_ORDER_ROWS[point]),
+                        firstColumn + (columnDelta * Z_ORDER_COLUMNS[point])
+                );
+            }
+        }
+    }
+
+    private static byte[] zOrderOffsets(int shift) {
+        byte[] offsets = new byte[Z_ORDER_BLOCK * Z_ORDER_BLOCK];
+        for (int code = 0; code < offsets.length; code++) {
+            int offset = 0;
+            for (int bit = 0; (code >>> (2 * bit)) != 0; bit++) {
+                offset |= ((code >>> (2 * bit + shift)) & 1) << bit;
+            }
+            offsets[code] = (byte) offset;
+        }
+        return offsets;
+    }
+
+    /**
+     * Divides this grid into at most the given number of contiguous, non-empty blocks of rows. The blocks
+     * keep row-major order, and together cover this grid exactly once, so they can be handed to separate threads.
+     *
+     * @param parts the number of blocks to divide this grid into
+     * @return an unmodifiable list of {@code min(parts, rows().length())} blocks, in order
+     * @throws IllegalArgumentException if parts is not positive
+     * @see Progression#partition(int)
+     */
+    public List<Progression2D> partition(int parts) {
+        List<Progression> blocks = rows.partition(parts);
+
+        return new Blocks(blocks);
+    }
+
+    /**
+     * Returns this grid as a two-dimensional {@link ProgressionND}, with the rows as its outer dimension.
+     *
+     * @return the equivalent ProgressionND
+     */
+    public ProgressionND toProgressionND() {
+        return new ProgressionND(new Progression[] { rows, columns });
+    }
+
+    /**
+     * Performs the given action for each point in this grid, in parallel, on the common {@link ForkJoinPool},
+     * passing it the row and the column of the point. The action may be called for different points concurrently,
+     * and in any order. This method returns once the action has been performed for every point.
+     *
+     * @implNote The grid is split by linear index, like {@link Progressions#parallelFor(Progression, IntConsumer)},
+     * and each leaf runs the same counted loops as {@link #forEach(IntBiConsumer)} over its block of points, so
+     * nothing is boxed, or allocated per point.
+     *
+     * @param action the action to be performed for each point
+     * @throws NullPointerException if the given action is null
+     * @throws RuntimeException if the action throws, once the tasks already running have finished
+     */
+    public void forEachParallel(IntBiConsumer action) {
+        Objects.requireNonNull(action);
+        ParallelForTask.run(size, (fromIndex, toIndex) -> forEachInRange(fromIndex, toIndex, action),
+                            ForkJoinPool.commonPool(), 1);
+    }
+
+    /**
+     * Returns a sequential {@code LongStream} of the linear indices of the points in this grid, from zero up to
+     * {@link #size()}. The row and column of each index can be read with {@link #row(long)} and
+     * {@link #column(long)}, without allocating. The stream splits evenly, so it can be processed in parallel,
+     * with {@link LongStream#parallel()}.
+     *
+     * @return a new sequential LongStream over the indices of this grid
+     * @see Progression2D#forEachParallel(IntBiConsumer)
+     */
+    public LongStream indices() {
+        return LongStream.range(0, size);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        Progression2D other = (Progression2D) object;
+        return rows.equals(other.rows) && columns.equals(other.columns);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rows, columns);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Progression2D{rows=%s, columns=%s}",
+                rows, columns
+        );
+    }
+
+    private final class Blocks extends AbstractList<Progression2D> implements RandomAccess {
+        private final List<Progression> blocks;
+
+        Blocks(List<Progression> blocks) {
+            this.blocks = blocks;
+        }
+
+        @Override
+        public Progression2D get(int index) {
+            return new Progression2D(blocks.get(index), columns);
+        }
+
+        @Override
+        public int size() {
+            return blocks.size();
+        }
+    }
+}
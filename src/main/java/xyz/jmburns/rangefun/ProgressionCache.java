@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.lang.reflect.Array;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a bounded cache of {@link xyz.jmburns.rangefun.Progression} instances, for code that creates
+ * the same few progressions over and over, like {@code indices(array)} on arrays of a handful of recurring sizes.
+ * Since progressions are immutable, a cache can hand out the same instance to every caller, from any thread.
+ *
+ * The cache is direct-mapped: each {@code (start, end, step)} triple hashes to exactly one slot, and a miss
+ * replaces whatever progression held that slot before. The cache therefore never holds more than its capacity,
+ * and lookups never lock, but two recurring triples that share a slot will keep evicting each other. The
+ * {@link #hitCount()}, {@link #missCount()} and {@link #evictionCount()} counters are there to spot that, and
+ * to size the cache.
+ *
+ * Instances are created with {@link Progressions#progressionCache(int)}, and are safe for use by multiple
+ * threads. The factory methods of this class validate their arguments exactly as those of
+ * {@link xyz.jmburns.rangefun.Progressions} do.
+ */
+public final class ProgressionCache {
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final Entry[] entries;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    ProgressionCache(int capacity) {
+        //invariants: 0 < capacity <= MAXIMUM_CAPACITY
+        int slots = Integer.highestOneBit(capacity);
+        if (slots < capacity) { slots <<= 1; }
+
+        this.entries = new Entry[slots];
+        this.mask = slots - 1;
+    }
+
+    static int checkCapacity(int capacity) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAXIMUM_CAPACITY);
+        }
+        return capacity;
+    }
+
+    /**
+     * Returns a {@link Progression} with the given starting, ending, and stepping values, shared with any
+     * earlier caller that asked for the same values, if it is still cached.
+     *
+     * @param start the first integer in the progression, inclusive
+     * @param end the point which no integer in the progression will go over, but may or may not be equal to
+     * @param step the amount by which each integer in the progression will differ from the previous one.
+     *             Cannot be zero
+     * @return a Progression representing the given start, end, and step values
+     * @throws IllegalArgumentException if step == 0
+     * @see Progressions#progression(int, int, int)
+     */
+    public Progression progression(int start, int end, int step) {
+        int slot = slotFor(start, end, step);
+
+        // entries are immutable, so a racy read sees either a whole entry or none at all
+        Entry entry = entries[slot];
+        if (entry != null && entry.start == start && entry.end == end && entry.step == step) {
+            hits.increment();
+            return entry.progression;
+        }
+
+        Progression progression = Progressions.progression(start, end, step);
+        misses.increment();
+        if (entry != null) { evictions.increment(); }
+        entries[slot] = new Entry(start, end, step, progression);
+
+        return progression;
+    }
+
+    /**
+     * Returns a {@link Progression} that behaves like a range of integers, with the given starting
+     * and ending values, shared with any earlier caller that asked for the same values, if it is still cached.
+     *
+     * @param start the first integer in the progression, inclusive
+     * @param end the last integer in the progression, inclusive
+     * @return a Progression representing the given start and end values
+     * @see Progressions#range(int, int)
+     */
+    public Progression range(int start, int end) {
+        return progression(start, end, 1);
+    }
+
+    /**
+     * Returns a {@link Progression} that behaves like a range of integers, from 0 to the given ending
+     * value, exclusive, shared with any earlier caller that asked for the same value, if it is still cached.
+     *
+     * @param to the last integer in the progression, exclusive
+     * @return a Progression representing the given end value
+     * @see Progressions#count(int)
+     */
+    public Progression count(int to) {
+        return range(0, to - 1);
+    }
+
+    /**
+     * Returns a {@link Progression} that behaves like a range of all valid indices of the given array,
+     * shared with any earlier caller that asked for the indices of an array of the same length, if it is
+     * still cached.
+     *
+     * @param array the array for which to generate indices
+     * @return a Progression representing all valid indices of the given array
+     * @throws NullPointerException if the given object is null
+     * @throws IllegalArgumentException if the given object is not an array
+     * @see Progressions#indices(Object)
+     */
+    public Progression indices(Object array) {
+        Objects.requireNonNull(array);
+        return count(Array.getLength(array));
+    }
+
+    /**
+     * Returns the number of progressions this cache can hold, which is the capacity it was created with,
+     * rounded up to a power of two.
+     *
+     * @return the number of progressions this cache can hold
+     */
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Returns the number of lookups that returned a cached progression.
+     *
+     * @return the number of lookups that returned a cached progression
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that created a new progression.
+     *
+     * @return the number of lookups that created a new progression
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of cached progressions that were replaced by a newer one in the same slot.
+     *
+     * @return the number of cached progressions that were evicted
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes every progression from this cache, and resets its counters.
+     *
+     * @implNote Lookups that run concurrently with this method may still return, or cache, a progression.
+     */
+    public void clear() {
+        for (int slot = 0; slot < entries.length; slot++) {
+            entries[slot] = null;
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    private int slotFor(int start, int end, int step) {
+        int hash = (start * 0x9E3779B9 + end) * 0x9E3779B9 + step;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ProgressionCache{capacity=%s, hits=%s, misses=%s, evictions=%s}",
+                capacity(), hitCount(), missCount(), evictionCount()
+        );
+    }
+
+    private static final class Entry {
+        private final int start;
+        private final int end;
+        private final int step;
+        private final Progression progression;
+
+        private Entry(int start, int end, int step, Progression progression) {
+            this.start = start;
+            this.end = end;
+            this.step = step;
+            this.progression = progression;
+        }
+    }
+}
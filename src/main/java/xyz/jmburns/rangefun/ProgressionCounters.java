@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a {@link ProgressionMetrics} that keeps running totals, for each
+ * {@link ProgressionEvent.Kind} of operation, of how many operations were reported, how many integers they
+ * covered, and how long they took. It is meant to be polled, by a metrics exporter or a health check, rather
+ * than to trace individual operations.
+ *
+ * Instances are created with {@link Progressions#progressionCounters()}, and only count once registered with
+ * {@link Progressions#addMetrics(ProgressionMetrics)}. They are safe for use by multiple threads, and recording
+ * never locks.
+ */
+public final class ProgressionCounters implements ProgressionMetrics {
+    private static final int KINDS = ProgressionEvent.Kind.values().length;
+
+    private final LongAdder[] operations = adders();
+    private final LongAdder[] integers = adders();
+    private final LongAdder[] nanos = adders();
+
+    ProgressionCounters() {
+    }
+
+    @Override
+    public void record(ProgressionEvent event) {
+        int kind = event.kind().ordinal();
+        operations[kind].increment();
+        integers[kind].add(event.length());
+        nanos[kind].add(event.durationNanos());
+    }
+
+    /**
+     * Returns the number of operations of the given kind that were reported.
+     *
+     * @param kind the kind of operation
+     * @return the number of operations of that kind
+     * @throws NullPointerException if the given kind is null
+     */
+    public long operationCount(ProgressionEvent.Kind kind) {
+        return operations[kind.ordinal()].sum();
+    }
+
+    /**
+     * Returns the total number of integers covered by the operations of the given kind that were reported.
+     *
+     * @param kind the kind of operation
+     * @return the total length of the progressions involved in operations of that kind
+     * @throws NullPointerException if the given kind is null
+     */
+    public long integerCount(ProgressionEvent.Kind kind) {
+        return integers[kind.ordinal()].sum();
+    }
+
+    /**
+     * Returns the total time taken by the operations of the given kind that were reported, in nanoseconds.
+     *
+     * @param kind the kind of operation
+     * @return the total duration of operations of that kind, in nanoseconds
+     * @throws NullPointerException if the given kind is null
+     */
+    public long totalNanos(ProgressionEvent.Kind kind) {
+        return nanos[kind.ordinal()].sum();
+    }
+
+    /**
+     * Resets every counter to zero.
+     *
+     * @implNote Operations that are reported concurrently with this method may or may not be counted.
+     */
+    public void reset() {
+        for (int kind = 0; kind < KINDS; kind++) {
+            operations[kind].reset();
+            integers[kind].reset();
+            nanos[kind].reset();
+        }
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[KINDS];
+        for (int kind = 0; kind < KINDS; kind++) {
+            adders[kind] = new LongAdder();
+        }
+        return adders;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("ProgressionCounters{");
+        for (ProgressionEvent.Kind kind : ProgressionEvent.Kind.values()) {
+            if (kind.ordinal() > 0) { builder.append(", "); }
+            builder.append(String.format(
+                    "%s={operations=%s, integers=%s, nanos=%s}",
+                    kind, operationCount(kind), integerCount(kind), totalNanos(kind)
+            ));
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+/**
+ * This class describes an expensive operation on a large {@link xyz.jmburns.rangefun.Progression}, as reported
+ * to {@link ProgressionMetrics}. It is immutable.
+ */
+public final class ProgressionEvent {
+    /**
+     * The kinds of operation that are reported.
+     */
+    public enum Kind {
+        /** A progression was written out into an array, like with {@code toArray()} */
+        MATERIALIZATION,
+        /** A progression was iterated over to the end, like with a for-each loop */
+        ITERATION
+    }
+
+    private final Kind kind;
+    private final String operation;
+    private final long length;
+    private final int step;
+    private final boolean backwards;
+    private final long durationNanos;
+
+    ProgressionEvent(Kind kind, String operation, long length, int step, boolean backwards, long durationNanos) {
+        this.kind = kind;
+        this.operation = operation;
+        this.length = length;
+        this.step = step;
+        this.backwards = backwards;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Returns the kind of operation that was performed.
+     *
+     * @return the kind of operation
+     */
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Returns the name of the method that performed the operation, like {@code "toIntArray"}, or
+     * {@code "iterator"}.
+     *
+     * @return the name of the operation
+     */
+    public String operation() {
+        return operation;
+    }
+
+    /**
+     * Returns the number of integers in the progression.
+     *
+     * @return the length of the progression
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns the distance between consecutive integers of the progression, which is always positive, or
+     * {@code Integer.MIN_VALUE} for a step of 2^31.
+     *
+     * @return the step of the progression
+     */
+    public int step() {
+        return step;
+    }
+
+    /**
+     * Determines whether or not the progression is iterated backwards, from its highest integer to its lowest.
+     *
+     * @return true if the progression is iterated backwards, false otherwise
+     */
+    public boolean isBackwards() {
+        return backwards;
+    }
+
+    /**
+     * Returns how long the operation took, in nanoseconds. For iterations, this is the time from creating the
+     * iterator to reaching its end, which includes the time spent in the loop body.
+     *
+     * @return the duration of the operation, in nanoseconds
+     */
+    public long durationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ProgressionEvent{kind=%s, operation=%s, length=%s, step=%s, backwards=%s, durationNanos=%s}",
+                kind, operation, length, step, backwards, durationNanos
+        );
+    }
+}
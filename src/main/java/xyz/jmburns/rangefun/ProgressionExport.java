@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+final class ProgressionExport {
+    /* small enough to stay in cache, big enough that each write to the channel moves a useful amount */
+    private static final int CHUNK_BYTES = 64 * 1024;
+    /* a mapping must fit in a ByteBuffer, so large progressions are mapped a region at a time */
+    private static final long MAPPED_REGION_BYTES = 1L << 28;
+
+    private ProgressionExport() {
+        throw new AssertionError(
+                "ProgressionExport is not instantiable"
+        );
+    }
+
+    static long toChannel(Progression progression, WritableByteChannel channel, ByteOrder order) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_BYTES).order(order);
+        IntBuffer integers = chunk.asIntBuffer();
+        long length = progression.longLength();
+
+        for (long index = 0; index < length; ) {
+            int count = (int) Math.min(integers.capacity(), length - index);
+            integers.clear();
+            writeRange(progression, integers, index, count);
+            index += count;
+
+            chunk.clear().limit(count * Integer.BYTES);
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+        }
+        return length * Integer.BYTES;
+    }
+
+    static long toMappedFile(Progression progression, FileChannel channel, long position, ByteOrder order)
+            throws IOException {
+        long length = progression.longLength();
+        int integersPerRegion = (int) (MAPPED_REGION_BYTES / Integer.BYTES);
+
+        for (long index = 0; index < length; ) {
+            int count = (int) Math.min(integersPerRegion, length - index);
+            long offset = position + (index * Integer.BYTES);
+
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, offset, count * Integer.BYTES);
+            writeRange(progression, region.order(order).asIntBuffer(), index, count);
+            index += count;
+        }
+        return length * Integer.BYTES;
+    }
+
+    static void writeRange(Progression progression, IntBuffer buffer, long fromIndex, int count) {
+        //invariants: 0 <= fromIndex, fromIndex + count <= progression.longLength(), count <= buffer.remaining()
+        int value = progression.calculateForIndex((int) fromIndex);
+        int delta = progression.isBackwards() ? -progression.step() : progression.step();
+        int position = buffer.position();
+
+        if (buffer.hasArray()) {
+            int[] array = buffer.array();
+            int offset = buffer.arrayOffset() + position;
+            for (int index = 0; index < count; index++) {
+                array[offset + index] = value;
+                value += delta;
+            }
+        } else {
+            for (int index = 0; index < count; index++) {
+                buffer.put(position + index, value);
+                value += delta;
+            }
+        }
+        buffer.position(position + count);
+    }
+}
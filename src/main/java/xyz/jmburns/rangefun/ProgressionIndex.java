@@ -0,0 +1,300 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * This class is a read-only, sorted table of {@link xyz.jmburns.rangefun.Progression} instances, stored in a
+ * file that is mapped into memory and searched in place. Opening an index reads nothing but its header, so
+ * even an index of millions of progressions is ready at once, and only the progressions that are looked up
+ * are ever created on the heap.
+ *
+ * The file starts with a 16 byte header: the magic number {@code 0x52465049}, the format version, the number
+ * of progressions, and four reserved bytes. Then come the progressions, in their natural order, as 20 byte
+ * records of lower bound, upper bound, step, flags, and reach, with bit 0 of the flags set for progressions
+ * that are iterated backwards. The reach of a record is the largest integer in it, or in any record before it,
+ * so that {@link #findContaining(int)} knows when to stop looking. Every field is a big-endian int.
+ *
+ * Instances are immutable, and safe for use by multiple threads.
+ *
+ * @see ProgressionCodec
+ */
+public final class ProgressionIndex {
+    private static final int MAGIC = 0x52465049;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 20;
+    private static final int BACKWARDS = 1;
+    private static final int MAXIMUM_SIZE = (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES;
+    private static final int WRITE_BUFFER_RECORDS = 4096;
+
+    private final ByteBuffer records;
+    private final int size;
+
+    private ProgressionIndex(ByteBuffer records, int size) {
+        this.records = records;
+        this.size = size;
+    }
+
+    /**
+     * Writes the given progressions to the given file, as an index, in their natural order. The file is
+     * created if it does not exist, and replaced if it does.
+     *
+     * @param file the file to write the index to
+     * @param progressions the progressions to write, in any order
+     * @throws NullPointerException if the given file or collection, or any of the progressions in it, is null
+     * @throws IllegalArgumentException if there are more progressions than an index can hold, which is
+     *         {@code (Integer.MAX_VALUE - 16) / 20}
+     * @throws IOException if writing to the file fails
+     */
+    public static void write(Path file, Collection<Progression> progressions) throws IOException {
+        Objects.requireNonNull(file);
+        List<Progression> sorted = new ArrayList<>(progressions);
+        for (Progression progression : sorted) {
+            Objects.requireNonNull(progression);
+        }
+        if (sorted.size() > MAXIMUM_SIZE) {
+            throw new IllegalArgumentException("an index cannot hold more than " + MAXIMUM_SIZE + " progressions");
+        }
+        Collections.sort(sorted);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                          StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_BYTES * WRITE_BUFFER_RECORDS);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(sorted.size()).putInt(0);
+
+            int reach = Integer.MIN_VALUE;
+            for (Progression progression : sorted) {
+                if (buffer.remaining() < RECORD_BYTES) {
+                    drain(buffer, channel);
+                }
+                reach = Math.max(reach, progression.max());
+                buffer.putInt(progression.low())
+                      .putInt(progression.high())
+                      .putInt(progression.step())
+                      .putInt(progression.isBackwards() ? BACKWARDS : 0)
+                      .putInt(reach);
+            }
+            drain(buffer, channel);
+        }
+    }
+
+    /**
+     * Writes the runs of the given set to the given file, as an index. Since the runs of a set never share an
+     * integer, {@link #findContaining(int)} on the resulting index answers exactly whether the set contains an
+     * integer, even where runs of different steps interleave.
+     *
+     * @param file the file to write the index to
+     * @param set the set whose runs to write
+     * @throws NullPointerException if the given file or set is null
+     * @throws IOException if writing to the file fails
+     * @see ProgressionSet#runs()
+     */
+    public static void write(Path file, ProgressionSet set) throws IOException {
+        write(file, set.runs());
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Opens the index in the given file, by mapping it into memory. Only the header is read; the progressions
+     * are read as they are looked up.
+     *
+     * @param file the file to open
+     * @return an index over the progressions in the file
+     * @throws NullPointerException if the given file is null
+     * @throws IOException if the file cannot be read, or is not a valid index
+     */
+    public static ProgressionIndex open(Path file) throws IOException {
+        Objects.requireNonNull(file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                throw new IOException("not a progression index: " + file);
+            }
+
+            // the mapping stays valid once the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (mapped.getInt(0) != MAGIC) {
+                throw new IOException("not a progression index: " + file);
+            }
+            if (mapped.getInt(4) != VERSION) {
+                throw new IOException("unsupported progression index version " + mapped.getInt(4) + ": " + file);
+            }
+            int size = mapped.getInt(8);
+            if (size < 0 || fileSize != HEADER_BYTES + ((long) size * RECORD_BYTES)) {
+                throw new IOException("truncated or corrupt progression index: " + file);
+            }
+
+            return new ProgressionIndex(mapped.position(HEADER_BYTES).slice(), size);
+        }
+    }
+
+    /**
+     * Returns the number of progressions in this index.
+     *
+     * @return the number of progressions in this index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the progression at the given position in this index, counting from zero, in natural order.
+     *
+     * @param index the position to look up
+     * @return the progression at the given position
+     * @throws IndexOutOfBoundsException if the index is negative or greater than or equal to {@link #size()}
+     * @throws UncheckedIOException if the record at that position is not a valid progression
+     */
+    public Progression get(int index) {
+        Objects.checkIndex(index, size);
+        int offset = index * RECORD_BYTES;
+
+        try {
+            return ProgressionCodec.decode(
+                    records.getInt(offset),
+                    records.getInt(offset + 4),
+                    records.getInt(offset + 8),
+                    (records.getInt(offset + 12) & BACKWARDS) != 0
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException("corrupt record at index " + index, e);
+        }
+    }
+
+    /**
+     * Returns the position of the given progression in this index, or -1 if this index does not hold it.
+     *
+     * @implNote This method binary searches the file in place, so it runs in logarithmic time, and reads
+     * only the records it compares against.
+     *
+     * @param progression the progression to look for
+     * @return the position of the progression, or -1 if it is not in this index
+     * @throws NullPointerException if the given progression is null
+     */
+    public int indexOf(Progression progression) {
+        Objects.requireNonNull(progression);
+
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareRecord(middle, progression);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Determines whether or not this index holds the given progression.
+     *
+     * @param progression the progression to look for
+     * @return true if this index holds the given progression, false otherwise
+     * @throws NullPointerException if the given progression is null
+     */
+    public boolean contains(Progression progression) {
+        return indexOf(progression) >= 0;
+    }
+
+    /**
+     * Finds a progression in this index that contains the given integer. When more than one does, the one
+     * that comes last in natural order is returned. When the progressions in this index share no integers,
+     * like the runs of a {@link ProgressionSet}, or the ranges of a shard map, there is at most one.
+     *
+     * @implNote This method binary searches the file in place for the last progression whose lower bound is
+     * no greater than the given integer, then reads back over the progressions before it, for as long as their
+     * reach extends to that integer. It runs in logarithmic time, plus the number of progressions that overlap
+     * the given integer without containing it.
+     *
+     * @param integer the integer to look for
+     * @return a progression that contains the given integer, or an empty Optional if there is none
+     */
+    public Optional<Progression> findContaining(int integer) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (records.getInt(middle * RECORD_BYTES) <= integer) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        for (int index = high; index >= 0 && records.getInt(index * RECORD_BYTES + 16) >= integer; index--) {
+            if (records.getInt(index * RECORD_BYTES + 4) >= integer) {
+                Progression candidate = get(index);
+                if (candidate.contains(integer)) {
+                    return Optional.of(candidate);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private int compareRecord(int index, Progression progression) {
+        // the same order as Progression.compareTo
+        int offset = index * RECORD_BYTES;
+        int result = Integer.compare(records.getInt(offset), progression.low());
+        if (result == 0) { result = Integer.compare(records.getInt(offset + 4), progression.high()); }
+        if (result == 0) { result = Integer.compare(records.getInt(offset + 8), progression.step()); }
+        if (result == 0) {
+            boolean backwards = (records.getInt(offset + 12) & BACKWARDS) != 0;
+            result = Boolean.compare(backwards, progression.isBackwards());
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ProgressionIndex{size=%s}",
+                size
+        );
+    }
+}
@@ -20,49 +20,81 @@
  */
 package xyz.jmburns.rangefun;
 
-import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
 
-class ProgressionIterator implements Iterator<Integer>, Comparable<ProgressionIterator> {
-    private final BoundsStrategy bounds;
-    private final int step;
-    private final int end;
-    private int current;
+/*
+ * Ascending and descending iterators are separate final classes, each with a fixed direction, so that the loop in
+ * nextInt or forEachRemaining is a plain countdown with nothing to dispatch on. BoundsStrategy is only consulted
+ * when an iterator is created or compared, never per integer. Likewise, monitoring is only checked when an
+ * iterator is created and when it runs out, so unmonitored iterators pay nothing for it.
+ */
+abstract class ProgressionIterator implements PrimitiveIterator.OfInt, Comparable<ProgressionIterator> {
+    final int step;
+    final int end;
+    int current;
+    long remaining;
+    private final long length;
+    boolean monitored;
+    private long startNanos;
 
-    private ProgressionIterator(int start, int end, int step, BoundsStrategy bounds) {
-        this.bounds = bounds;
+    private ProgressionIterator(int start, int end, int step, int distance, BoundsStrategy bounds) {
         this.current = start;
         this.step = step;
         this.end = end;
+
+        // counting down, rather than comparing against end, keeps current + step from
+        // wrapping around past Integer.MAX_VALUE or Integer.MIN_VALUE without ever stopping
+        this.remaining = bounds.crossed(start, end)
+                ? 0
+                : (Integer.toUnsignedLong(distance) / Integer.toUnsignedLong(step)) + 1;
+        this.length = remaining;
+        if (ProgressionMonitor.isMonitored(length)) {
+            this.monitored = true;
+            this.startNanos = System.nanoTime();
+        }
     }
 
     static ProgressionIterator ascending(int start, int end, int step) {
         //invariants: end >= start, step > 0
-        return new ProgressionIterator(start, end, step, BoundsStrategy.UPPER);
+        return new Ascending(start, end, step);
     }
 
     static ProgressionIterator descending(int start, int end, int step) {
         //invariants: end <= start, step > 0
-        return new ProgressionIterator(start, end, -step, BoundsStrategy.LOWER);
+        return new Descending(start, end, step);
     }
 
+    abstract BoundsStrategy bounds();
+
     @Override
-    public Integer next() {
-        if (hasNext()) {
-            int old = current;
-            current = current + step;
-            return old;
-        } else {
-            throw new NoSuchElementException(
-                    "the end of the progression has been reached"
-            );
-        }
+    public final boolean hasNext() {
+        if (remaining > 0) { return true; }
+        if (monitored) { finished(); }
+        return false;
     }
 
-    @Override
-    public boolean hasNext() {
-        return !bounds.crossed(current, end);
+    final void finished() {
+        monitored = false;
+        ProgressionMonitor.record(
+                ProgressionEvent.Kind.ITERATION, "iterator", length, step, bounds() == BoundsStrategy.LOWER, startNanos
+        );
+    }
+
+    /*
+     * The JIT only unrolls loops with an int counter, but a progression can hold up to 2^32 integers,
+     * so forEachRemaining counts down in int-sized chunks
+     */
+    static int chunk(long remaining) {
+        return (int) Math.min(remaining, Integer.MAX_VALUE);
+    }
+
+    private static NoSuchElementException exhausted() {
+        return new NoSuchElementException(
+                "the end of the progression has been reached"
+        );
     }
 
     @Override
@@ -72,30 +104,109 @@ class ProgressionIterator implements Iterator<Integer>, Comparable<ProgressionIt
         ProgressionIterator other = (ProgressionIterator) o;
         return step == other.step &&
                end == other.end &&
-               current == other.current &&
-               bounds == other.bounds;
+               current == other.current;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(bounds, step, end, current);
+        return Objects.hash(bounds(), step, end, current);
     }
 
     @Override
     public String toString() {
         return String.format(
                 "ProgressionIterator{bounds=%s, step=%s, end=%s, current=%s}",
-                bounds, step, end, current
+                bounds(), step, end, current
         );
     }
 
     @Override
     public int compareTo(ProgressionIterator other) {
         if (this == other) return 0;
-        int result =  bounds.compareTo(other.bounds);
+        int result =  bounds().compareTo(other.bounds());
         if (result == 0) { result = Integer.compare(step, other.step); }
         if (result == 0) { result = Integer.compare(end, other.end); }
         if (result == 0) { result = Integer.compare(current, other.current); }
         return result;
     }
+
+    private static final class Ascending extends ProgressionIterator {
+        private Ascending(int start, int end, int step) {
+            super(start, end, step, end - start, BoundsStrategy.UPPER);
+        }
+
+        @Override
+        BoundsStrategy bounds() {
+            return BoundsStrategy.UPPER;
+        }
+
+        @Override
+        public int nextInt() {
+            if (remaining <= 0) { throw exhausted(); }
+            remaining--;
+            int old = current;
+            current = old + step;
+            return old;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            Objects.requireNonNull(action);
+            long remaining = this.remaining;
+            int current = this.current;
+            int step = this.step;
+
+            this.remaining = 0;
+            while (remaining > 0) {
+                int count = chunk(remaining);
+                for (int i = 0; i < count; i++) {
+                    action.accept(current);
+                    current += step;
+                }
+                remaining -= count;
+            }
+            this.current = current;
+            if (monitored) { finished(); }
+        }
+    }
+
+    private static final class Descending extends ProgressionIterator {
+        private Descending(int start, int end, int step) {
+            super(start, end, step, start - end, BoundsStrategy.LOWER);
+        }
+
+        @Override
+        BoundsStrategy bounds() {
+            return BoundsStrategy.LOWER;
+        }
+
+        @Override
+        public int nextInt() {
+            if (remaining <= 0) { throw exhausted(); }
+            remaining--;
+            int old = current;
+            current = old - step;
+            return old;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            Objects.requireNonNull(action);
+            long remaining = this.remaining;
+            int current = this.current;
+            int step = this.step;
+
+            this.remaining = 0;
+            while (remaining > 0) {
+                int count = chunk(remaining);
+                for (int i = 0; i < count; i++) {
+                    action.accept(current);
+                    current -= step;
+                }
+                remaining -= count;
+            }
+            this.current = current;
+            if (monitored) { finished(); }
+        }
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+/**
+ * A service that is told about expensive operations on large {@link xyz.jmburns.rangefun.Progression}s, like
+ * materializing one into an array, or iterating over one to the end, so that they can be counted, timed, or
+ * traced back to their call sites.
+ *
+ * Implementations are found with {@link java.util.ServiceLoader} when this library is first used, and can also be
+ * added and removed at runtime, with {@link Progressions#addMetrics(ProgressionMetrics)} and
+ * {@link Progressions#removeMetrics(ProgressionMetrics)}. While none are registered, progressions skip
+ * monitoring entirely, so it costs one check per operation, rather than one per integer.
+ *
+ * For plain counters, of how many operations ran, over how many integers, and for how long in total, register
+ * a {@link ProgressionCounters} instance from {@link Progressions#progressionCounters()}.
+ *
+ * Only progressions of at least 1,000,000 integers are reported by default. That threshold can be changed with
+ * the {@code xyz.jmburns.rangefun.metrics.threshold} system property, set before this library is first used.
+ *
+ * On Java 11 and later, an implementation can turn each report into a JDK Flight Recorder event, so that
+ * recordings show which threads, and which stack traces, the expensive operations came from. Reports arrive
+ * once an operation has completed, too late to call {@code begin()}, so the duration is carried in a field of
+ * its own, rather than in the event's built-in duration:
+ * <pre>{@code
+ * @Name("xyz.jmburns.rangefun.LargeProgression")
+ * @StackTrace(true)
+ * class LargeProgressionEvent extends jdk.jfr.Event {
+ *     String operation;
+ *     long length;
+ *     int step;
+ *     boolean backwards;
+ *     @Timespan(Timespan.NANOSECONDS)
+ *     long durationNanos;
+ * }
+ *
+ * public class FlightRecorderMetrics implements ProgressionMetrics {
+ *     public void record(ProgressionEvent report) {
+ *         LargeProgressionEvent event = new LargeProgressionEvent();
+ *         if (event.isEnabled()) {
+ *             event.operation = report.operation();
+ *             event.length = report.length();
+ *             event.step = report.step();
+ *             event.backwards = report.isBackwards();
+ *             event.durationNanos = report.durationNanos();
+ *             event.commit();
+ *         }
+ *     }
+ * }
+ * }</pre>
+ */
+@FunctionalInterface
+public interface ProgressionMetrics {
+    /**
+     * Records that an expensive operation on a large progression has completed. This is called on the thread
+     * that performed the operation, so it should return quickly. Any exception it throws is ignored.
+     *
+     * @param event what was done, to how large a progression, and how long it took
+     */
+    void record(ProgressionEvent event);
+}
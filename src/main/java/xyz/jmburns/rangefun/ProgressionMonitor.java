@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+final class ProgressionMonitor {
+    private static final long THRESHOLD = Long.getLong("xyz.jmburns.rangefun.metrics.threshold", 1_000_000);
+    private static final ProgressionMetrics[] NONE = new ProgressionMetrics[0];
+
+    /* copy-on-write, so that checking for metrics never locks */
+    private static volatile ProgressionMetrics[] metrics = load();
+
+    private ProgressionMonitor() {
+        throw new AssertionError(
+                "ProgressionMonitor is not instantiable"
+        );
+    }
+
+    static boolean isMonitored(long length) {
+        return length >= THRESHOLD && metrics.length > 0;
+    }
+
+    static void materialized(String operation, Progression progression, long startNanos) {
+        record(ProgressionEvent.Kind.MATERIALIZATION, operation, progression, startNanos);
+    }
+
+    static void iterated(String operation, Progression progression, long startNanos) {
+        record(ProgressionEvent.Kind.ITERATION, operation, progression, startNanos);
+    }
+
+    private static void record(ProgressionEvent.Kind kind, String operation, Progression progression,
+                               long startNanos) {
+        record(kind, operation, progression.longLength(), progression.step(), progression.isBackwards(), startNanos);
+    }
+
+    static void record(ProgressionEvent.Kind kind, String operation, long length, int step, boolean backwards,
+                       long startNanos) {
+        ProgressionEvent event = new ProgressionEvent(
+                kind, operation, length, step, backwards, System.nanoTime() - startNanos
+        );
+        for (ProgressionMetrics metric : metrics) {
+            try {
+                metric.record(event);
+            } catch (RuntimeException ignored) {
+                // a broken metrics service must never break the operation it is observing
+            }
+        }
+    }
+
+    static synchronized void add(ProgressionMetrics metric) {
+        Objects.requireNonNull(metric);
+        ProgressionMetrics[] current = metrics;
+        ProgressionMetrics[] added = Arrays.copyOf(current, current.length + 1);
+        added[current.length] = metric;
+        metrics = added;
+    }
+
+    static synchronized boolean remove(ProgressionMetrics metric) {
+        ProgressionMetrics[] current = metrics;
+        for (int index = 0; index < current.length; index++) {
+            if (current[index] == metric) {
+                ProgressionMetrics[] removed = new ProgressionMetrics[current.length - 1];
+                System.arraycopy(current, 0, removed, 0, index);
+                System.arraycopy(current, index + 1, removed, index, current.length - index - 1);
+                metrics = removed;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ProgressionMetrics[] load() {
+        ProgressionMetrics[] loaded = NONE;
+        Iterator<ProgressionMetrics> providers = ServiceLoader.load(ProgressionMetrics.class).iterator();
+        while (true) {
+            try {
+                if (!providers.hasNext()) {
+                    return loaded;
+                }
+                ProgressionMetrics provider = providers.next();
+                loaded = Arrays.copyOf(loaded, loaded.length + 1);
+                loaded[loaded.length - 1] = provider;
+            } catch (ServiceConfigurationError ignored) {
+                // skip providers that cannot be loaded, rather than making every progression unusable
+            }
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * This class represents an N-dimensional grid of integer coordinates, built as the product of one
+ * {@link xyz.jmburns.rangefun.Progression} per dimension. Points are ordered row-major, so the last dimension
+ * varies fastest, and each point has a linear index, counting from zero, just like the elements of a flattened
+ * array.
+ *
+ * For example, {@code Progressions.progressionND(range(0, 1), range(0, 2))} holds the six points
+ * {@code [0, 0], [0, 1], [0, 2], [1, 0], [1, 1], [1, 2]}, in that order.
+ *
+ * Like {@link xyz.jmburns.rangefun.Progression}, this class is immutable, and lazily-evaluated, so it takes up
+ * the same memory whatever its size.
+ *
+ * @see Progression2D
+ */
+public final class ProgressionND {
+    private final Progression[] dimensions;
+    private final long[] strides;
+    private final long size;
+
+    ProgressionND(Progression[] dimensions) {
+        //invariants: dimensions.length > 0, no dimension is null
+        this.dimensions = dimensions;
+        this.strides = new long[dimensions.length];
+
+        long size = 1;
+        for (int dimension = dimensions.length - 1; dimension >= 0; dimension--) {
+            strides[dimension] = size;
+            size = Math.multiplyExact(size, dimensions[dimension].longLength());
+        }
+        this.size = size;
+    }
+
+    /**
+     * Returns the progressions that this grid is the product of, one per dimension, outermost first.
+     *
+     * @return an unmodifiable list of the dimensions of this grid
+     */
+    public List<Progression> dimensions() {
+        return Collections.unmodifiableList(Arrays.asList(dimensions));
+    }
+
+    /**
+     * Returns the number of points in this grid, which is the product of the lengths of its dimensions.
+     *
+     * @return the number of points in this grid
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the coordinates of the point at the given linear index, in a new array.
+     * For example, {@code progressionND(range(0, 1), range(0, 2)).get(4)} will evaluate to {@code [1, 1]}.
+     *
+     * @implNote This method runs in time proportional to the number of dimensions, whatever the index.
+     *
+     * @param index the linear index to look up
+     * @return a new array holding the coordinate of the point in each dimension
+     * @throws IndexOutOfBoundsException if the given index is negative or greater than or equal to {@link #size()}
+     * @see ProgressionND#indexOf(int...)
+     */
+    public int[] get(long index) {
+        return get(index, new int[dimensions.length]);
+    }
+
+    /**
+     * Writes the coordinates of the point at the given linear index into the given array, so that a single
+     * array can be reused across many lookups.
+     *
+     * @param index the linear index to look up
+     * @param coordinates the array to write the coordinates into, one per dimension
+     * @return the given array
+     * @throws IndexOutOfBoundsException if the given index is negative or greater than or equal to {@link #size()}
+     * @throws IllegalArgumentException if the array does not have one element per dimension
+     */
+    public int[] get(long index, int[] coordinates) {
+        checkRank(coordinates.length);
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("index %s out of bounds for size %s", index, size));
+        }
+
+        coordinatesAt(index, coordinates);
+        return coordinates;
+    }
+
+    /**
+     * Returns the linear index of the point with the given coordinates, or -1 if this grid does not hold it.
+     * This is the inverse of {@link #get(long)}.
+     *
+     * @implNote This method runs in time proportional to the number of dimensions.
+     *
+     * @param coordinates the coordinate of the point in each dimension
+     * @return the linear index of the point, or -1 if it is not in this grid
+     * @throws IllegalArgumentException if there is not one coordinate per dimension
+     */
+    public long indexOf(int... coordinates) {
+        checkRank(coordinates.length);
+
+        long index = 0;
+        for (int dimension = 0; dimension < dimensions.length; dimension++) {
+            long position = dimensions[dimension].longIndexOf(coordinates[dimension]);
+            if (position < 0) {
+                return -1;
+            }
+            index += position * strides[dimension];
+        }
+        return index;
+    }
+
+    /**
+     * Determines whether or not this grid holds the point with the given coordinates.
+     *
+     * @param coordinates the coordinate of the point in each dimension
+     * @return true if every coordinate is in its dimension, false otherwise
+     * @throws IllegalArgumentException if there is not one coordinate per dimension
+     */
+    public boolean contains(int... coordinates) {
+        return indexOf(coordinates) >= 0;
+    }
+
+    /**
+     * Performs the given action for each point in this grid, in row-major order.
+     *
+     * @implNote A single cursor array is moved through the grid, odometer-style, so no arrays or iterators are
+     * created per point. The action is passed that same array every time, so it must copy the coordinates if
+     * it needs them after it returns, and must not modify them.
+     *
+     * @param action the action to be performed for each point
+     * @throws NullPointerException if the given action is null
+     */
+    public void forEach(Consumer<int[]> action) {
+        Objects.requireNonNull(action);
+        forEachInRange(0, size, action);
+    }
+
+    void forEachInRange(long fromIndex, long toIndex, Consumer<int[]> action) {
+        //invariants: 0 <= fromIndex <= toIndex <= size
+        if (fromIndex >= toIndex) {
+            return;
+        }
+
+        int rank = dimensions.length;
+        int[] cursor = new int[rank];
+        long[] positions = new long[rank];
+        coordinatesAt(fromIndex, cursor);
+        for (int dimension = 0; dimension < rank; dimension++) {
+            positions[dimension] = (fromIndex / strides[dimension]) % dimensions[dimension].longLength();
+        }
+
+        for (long remaining = toIndex - fromIndex; ; ) {
+            action.accept(cursor);
+            if (--remaining == 0) {
+                return;
+            }
+
+            // carry into the next dimension out, whenever one wraps around
+            int dimension = rank - 1;
+            while (++positions[dimension] == dimensions[dimension].longLength()) {
+                positions[dimension] = 0;
+                cursor[dimension] = dimensions[dimension].calculateForIndex(0);
+                dimension--;
+            }
+            cursor[dimension] = dimensions[dimension].calculateForIndex((int) positions[dimension]);
+        }
+    }
+
+    void coordinatesAt(long index, int[] coordinates) {
+        //invariants: 0 <= index < size, coordinates.length == dimensions.length
+        for (int dimension = 0; dimension < dimensions.length; dimension++) {
+            long position = (index / strides[dimension]) % dimensions[dimension].longLength();
+            coordinates[dimension] = dimensions[dimension].calculateForIndex((int) position);
+        }
+    }
+
+    private void checkRank(int length) {
+        if (length != dimensions.length) {
+            throw new IllegalArgumentException(String.format(
+                    "expected %s coordinates, but got %s", dimensions.length, length
+            ));
+        }
+    }
+
+    /**
+     * Divides this grid into at most the given number of contiguous, non-empty blocks of rows, by partitioning
+     * its outermost dimension. The blocks keep row-major order, and together cover this grid exactly once, so
+     * they can be handed to separate threads.
+     *
+     * @param parts the number of blocks to divide this grid into
+     * @return an unmodifiable list of {@code min(parts, dimensions().get(0).length())} blocks, in order
+     * @throws IllegalArgumentException if parts is not positive
+     * @see Progression#partition(int)
+     */
+    public List<ProgressionND> partition(int parts) {
+        List<Progression> outermost = dimensions[0].partition(parts);
+
+        return new Blocks(outermost);
+    }
+
+    /**
+     * Performs the given action for each point in this grid, in parallel, on the common {@link ForkJoinPool}.
+     * The action may be called for different points concurrently, and in any order. This method returns once
+     * the action has been performed for every point.
+     *
+     * @implNote The grid is split by linear index, like {@link Progressions#parallelFor(Progression, IntConsumer)},
+     * and each leaf moves its own cursor array through its block of points, so only one array is created per leaf,
+     * rather than per point. As with {@link #forEach(Consumer)}, the action must copy the coordinates if it
+     * needs them after it returns, and must not modify them.
+     *
+     * @param action the action to be performed for each point
+     * @throws NullPointerException if the given action is null
+     * @throws RuntimeException if the action throws, once the tasks already running have finished
+     */
+    public void forEachParallel(Consumer<int[]> action) {
+        Objects.requireNonNull(action);
+        ParallelForTask.run(size, (fromIndex, toIndex) -> forEachInRange(fromIndex, toIndex, action),
+                            ForkJoinPool.commonPool(), 1);
+    }
+
+    /**
+     * Returns a sequential {@code LongStream} of the linear indices of the points in this grid, from zero up to
+     * {@link #size()}. The coordinates of each index can be read into a reused array with
+     * {@link #get(long, int[])}, so nothing needs to be allocated per point. The stream splits evenly, so it can
+     * be processed in parallel, with {@link LongStream#parallel()}.
+     *
+     * @return a new sequential LongStream over the indices of this grid
+     * @see ProgressionND#forEachParallel(Consumer)
+     */
+    public LongStream indices() {
+        return LongStream.range(0, size);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        ProgressionND other = (ProgressionND) object;
+        return Arrays.equals(dimensions, other.dimensions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(dimensions);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ProgressionND{dimensions=%s}",
+                Arrays.toString(dimensions)
+        );
+    }
+
+    private final class Blocks extends AbstractList<ProgressionND> implements RandomAccess {
+        private final List<Progression> outermost;
+
+        Blocks(List<Progression> outermost) {
+            this.outermost = outermost;
+        }
+
+        @Override
+        public ProgressionND get(int index) {
+            Progression[] block = dimensions.clone();
+            block[0] = outermost.get(index);
+            return new ProgressionND(block);
+        }
+
+        @Override
+        public int size() {
+            return outermost.size();
+        }
+    }
+}
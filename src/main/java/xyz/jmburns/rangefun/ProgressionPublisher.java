@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Each subscription holds only the index of the next integer to emit, so resuming after more demand arrives, or
+ * stopping on cancellation, takes constant time and memory. Signals are serialized with a work-in-progress counter:
+ * whichever thread moves it from zero runs the emission loop, and any request that arrives meanwhile, including a
+ * reentrant one from inside onNext, just bumps the counter to make that loop go round again.
+ */
+final class ProgressionPublisher implements Flow.Publisher<Integer> {
+    private final Progression progression;
+    private final Executor executor;
+
+    ProgressionPublisher(Progression progression, Executor executor) {
+        //invariants: executor is null to emit on the requesting thread
+        this.progression = progression;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+        Objects.requireNonNull(subscriber);
+        new Subscription(progression, executor, subscriber).schedule();
+    }
+
+    private static final class Subscription implements Flow.Subscription, Runnable {
+        private final Progression progression;
+        private final Executor executor;
+        private final long end;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile Flow.Subscriber<? super Integer> subscriber;
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        // only touched by the thread running the emission loop
+        private boolean subscribed;
+        private long index;
+
+        private Subscription(Progression progression, Executor executor, Flow.Subscriber<? super Integer> subscriber) {
+            this.progression = progression;
+            this.executor = executor;
+            this.subscriber = subscriber;
+            this.end = progression.longLength();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("non-positive request: " + n);
+            } else {
+                requested.getAndAccumulate(n, Subscription::addCapped);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriber = null;
+        }
+
+        void schedule() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            if (executor == null) {
+                run();
+                return;
+            }
+
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException rejected) {
+                // nothing is running, and wip is never released, so this is the last signal
+                Flow.Subscriber<? super Integer> subscriber = this.subscriber;
+                cancel();
+                if (subscriber != null) {
+                    if (!subscribed) { subscriber.onSubscribe(this); }
+                    subscriber.onError(rejected);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                Flow.Subscriber<? super Integer> subscriber = this.subscriber;
+                if (subscriber != null) {
+                    try {
+                        emit(subscriber);
+                    } catch (RuntimeException failure) {
+                        // the subscriber broke its contract, so treat the subscription as cancelled
+                        if (!cancelled) {
+                            cancel();
+                            subscriber.onError(failure);
+                        }
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit(Flow.Subscriber<? super Integer> subscriber) {
+            if (!subscribed) {
+                subscribed = true;
+                subscriber.onSubscribe(this);
+            }
+
+            Throwable invalidRequest = this.invalidRequest;
+            if (invalidRequest != null) {
+                cancel();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+
+            long demand = requested.get();
+            long emitted = 0;
+            if (subscriber instanceof ProgressionSubscriber) {
+                ProgressionSubscriber batches = (ProgressionSubscriber) subscriber;
+                while (emitted < demand && index < end && !cancelled) {
+                    int count = ProgressionIterator.chunk(Math.min(demand - emitted, end - index));
+                    batches.onNextBatch(batch(count));
+                    index += count;
+                    emitted += count;
+                }
+            } else {
+                while (emitted < demand && index < end && !cancelled) {
+                    subscriber.onNext(progression.calculateForIndex((int) index));
+                    index++;
+                    emitted++;
+                }
+            }
+
+            // unbounded demand is never used up, so there is no need to keep subtracting from it
+            if (demand != Long.MAX_VALUE) { requested.addAndGet(-emitted); }
+
+            if (index == end && !cancelled) {
+                cancel();
+                subscriber.onComplete();
+            }
+        }
+
+        private Progression batch(int count) {
+            int first = progression.calculateForIndex((int) index);
+            int last = progression.calculateForIndex((int) (index + count - 1));
+            int step = progression.step();
+            return new Progression(first, last, progression.isBackwards() ? -step : step);
+        }
+
+        private static long addCapped(long current, long n) {
+            long sum = current + n;
+            return sum < 0 ? Long.MAX_VALUE : sum;
+        }
+    }
+}
@@ -0,0 +1,759 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class represents a set of integers, stored as a sorted array of ascending
+ * {@link xyz.jmburns.rangefun.Progression} runs, no two of which share an integer. Large, regular sets, like shard
+ * slots or time buckets, therefore take up memory in proportion to the number of runs, rather than the number of
+ * integers.
+ *
+ * For example, {@code Progressions.progressionSet(range(0, 999), progression(2000, 3998, 2))} holds
+ * 2000 integers in two runs, and removing {@code progression(0, 999, 3)} from it leaves the integers
+ * 1, 2, 4, 5, and so on, as two interleaved runs stepped by 3, rather than one run per gap.
+ *
+ * Unlike {@link xyz.jmburns.rangefun.Progression}, this class is mutable, through {@code add} and
+ * {@code remove}, and is not safe for use by multiple threads without external synchronization.
+ * Its {@code equals} and {@code hashCode} compare the integers in the sets, rather than their runs.
+ */
+public final class ProgressionSet implements Iterable<Integer> {
+    private static final Progression[] NO_RUNS = new Progression[0];
+    private static final Comparator<Progression> BY_MIN = Comparator.comparingInt(Progression::min);
+
+    /* runs[0..count) hold the runs of the set, and the rest is room to grow, like an ArrayList */
+    private Progression[] runs;
+    private int count;
+    private long size;
+
+    /* reach[i] is the largest integer in runs[0..i], which never decreases, so it can be binary searched */
+    private int[] reach;
+
+    ProgressionSet(Progression[] runs) {
+        //invariants: runs are ascending, sorted by their smallest integer, and share no integers
+        this.runs = runs;
+        this.count = runs.length;
+        this.size = sizeOf(runs, 0, count);
+        this.reach = new int[count];
+        reindex(0, count);
+    }
+
+    /**
+     * Determines whether or not this set contains the given integer.
+     *
+     * @implNote This method binary searches the runs of this set, so it runs in logarithmic time
+     * with respect to the number of runs, plus the number of interleaved runs around the given integer.
+     *
+     * @param integer the integer to look for
+     * @return true if this set contains the given integer, false otherwise
+     */
+    public boolean contains(int integer) {
+        for (int index = firstReaching(reach, 0, count, integer);
+             index < count && runs[index].min() <= integer;
+             index++) {
+            if (runs[index].contains(integer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the given integer to this set.
+     *
+     * @param integer the integer to add
+     * @return true if this set did not already contain the given integer, false otherwise
+     */
+    public boolean add(int integer) {
+        return add(new Progression(integer, integer, 1));
+    }
+
+    /**
+     * Adds all the integers in the given progression to this set.
+     *
+     * @implNote Only the runs around the given progression are rebuilt, and a sparse run that the progression
+     * lands inside is cut around it, so that runs only stretch over one another when they interleave evenly.
+     * The runs after the rebuilt ones are shifted along in place with a single array copy, so this method runs
+     * in time proportional to the number of runs it touches, plus a copy of the references to the runs after
+     * them. In the rare case where what is left of an interleaved run has to move past runs that were not
+     * rebuilt, all the runs are sorted again.
+     *
+     * @param progression the progression whose integers are to be added
+     * @return true if this set changed as a result of the call, false otherwise
+     * @throws NullPointerException if the given progression is null
+     */
+    public boolean add(Progression progression) {
+        Objects.requireNonNull(progression);
+        // one extra run on either side, so that the added integers can extend a neighbouring run
+        int from = Math.max(firstReaching(reach, 0, count, progression.min()) - 1, 0);
+        int to = Math.min(countStartingAtOrBefore(progression.max()) + 1, count);
+        return splice(from, to, ascending(progression), Operation.UNION);
+    }
+
+    /**
+     * Removes the given integer from this set.
+     *
+     * @param integer the integer to remove
+     * @return true if this set contained the given integer, false otherwise
+     */
+    public boolean remove(int integer) {
+        return remove(new Progression(integer, integer, 1));
+    }
+
+    /**
+     * Removes all the integers in the given progression from this set.
+     *
+     * @implNote Only the runs overlapping the given progression are rebuilt, and the runs after them are shifted
+     * along in place, as in {@link #add(Progression)}. When the removed integers are
+     * spaced {@code k} steps apart within a run, the rest of that run is kept either as one run per gap, or
+     * as one run per leftover residue class, stepped by the spacing of the removed integers, whichever takes
+     * fewer runs. A run of {@code n} integers therefore never breaks up into more than about {@code sqrt(n)}
+     * runs, whatever is removed from it.
+     *
+     * @param progression the progression whose integers are to be removed
+     * @return true if this set changed as a result of the call, false otherwise
+     * @throws NullPointerException if the given progression is null
+     */
+    public boolean remove(Progression progression) {
+        Objects.requireNonNull(progression);
+        int from = firstReaching(reach, 0, count, progression.min());
+        int to = countStartingAtOrBefore(progression.max());
+        return splice(from, to, ascending(progression), Operation.DIFFERENCE);
+    }
+
+    /**
+     * Creates a new set holding every integer in either this set or the given one.
+     *
+     * @param other the set to combine with this one
+     * @return a new set holding the union of both sets
+     * @throws NullPointerException if the given set is null
+     */
+    public ProgressionSet union(ProgressionSet other) {
+        Objects.requireNonNull(other);
+        return new ProgressionSet(
+                combine(runs, reach, 0, count, other.runs, other.reach, other.count, Operation.UNION)
+        );
+    }
+
+    /**
+     * Creates a new set holding every integer in both this set and the given one.
+     *
+     * @implNote Overlapping runs are intersected with {@link Progression#intersect(Progression)}, so this
+     * method runs in time proportional to the number of runs in both sets, and the number of pairs of
+     * runs that overlap.
+     *
+     * @param other the set to intersect with this one
+     * @return a new set holding the intersection of both sets
+     * @throws NullPointerException if the given set is null
+     */
+    public ProgressionSet intersection(ProgressionSet other) {
+        Objects.requireNonNull(other);
+        return new ProgressionSet(
+                combine(runs, reach, 0, count, other.runs, other.reach, other.count, Operation.INTERSECTION)
+        );
+    }
+
+    /**
+     * @return the number of integers in this set
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return true if this set holds no integers, false otherwise
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the runs this set is made of, sorted by their smallest integers. Each run is an ascending
+     * progression, and no two runs share an integer, though their ranges may interleave.
+     *
+     * @return an unmodifiable list of the runs of this set, as they are when this method is called
+     */
+    public List<Progression> runs() {
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(runs, count)));
+    }
+
+    /**
+     * Performs the given action for each integer in this set, in ascending order, without boxing.
+     *
+     * @param action the action to be performed for each integer
+     * @throws NullPointerException if the given action is null
+     */
+    public void forEachInt(IntConsumer action) {
+        Objects.requireNonNull(action);
+        if (isInterleaved()) {
+            iterator().forEachRemaining(action);
+            return;
+        }
+        for (int index = 0; index < count; index++) {
+            runs[index].forEachInt(action);
+        }
+    }
+
+    /**
+     * @return a new primitive iterator over this set, in ascending order
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        if (isInterleaved()) {
+            return new MergingIterator(runs, count);
+        }
+        return new PrimitiveIterator.OfInt() {
+            private final Progression[] runs = ProgressionSet.this.runs;
+            private final int count = ProgressionSet.this.count;
+            private int index = 0;
+            private PrimitiveIterator.OfInt current = null;
+
+            @Override
+            public boolean hasNext() {
+                return (current != null && current.hasNext()) || index < count;
+            }
+
+            @Override
+            public int nextInt() {
+                if (current == null || !current.hasNext()) {
+                    if (index == count) {
+                        throw exhausted();
+                    }
+                    current = runs[index++].iterator();
+                }
+                return current.nextInt();
+            }
+        };
+    }
+
+    /**
+     * @return a new sequential IntStream over this set, in ascending order
+     */
+    public IntStream stream() {
+        if (isInterleaved()) {
+            int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED
+                                  | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+            return StreamSupport.intStream(Spliterators.spliterator(iterator(), size, characteristics), false);
+        }
+        return Arrays.stream(runs, 0, count).flatMapToInt(Progression::stream);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ProgressionSet{size=%s, runs=%s}",
+                size, Arrays.toString(Arrays.copyOf(runs, count))
+        );
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        ProgressionSet other = (ProgressionSet) object;
+        if (size != other.size) {
+            return false;
+        }
+        if (Arrays.equals(runs, 0, count, other.runs, 0, other.count)) {
+            return true;
+        }
+
+        // the same integers may be split into runs differently, depending on how the sets were built
+        PrimitiveIterator.OfInt these = iterator();
+        PrimitiveIterator.OfInt those = other.iterator();
+        while (these.hasNext()) {
+            if (these.nextInt() != those.nextInt()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // the sum of the integers, like java.util.Set, but computed per run
+        long hash = 0;
+        for (int index = 0; index < count; index++) {
+            Progression run = runs[index];
+            long length = run.longLength();
+            long triangle = (length % 2 == 0) ? (length / 2) * (length - 1) : length * ((length - 1) / 2);
+            hash += (length * run.min()) + (run.step() * triangle);
+        }
+        return (int) hash;
+    }
+
+    private boolean splice(int from, int to, Progression other, Operation operation) {
+        Progression[] others = { other };
+        int[] otherReach = { other.max() };
+        Progression[] replacement = combine(runs, reach, from, to, others, otherReach, 1, operation);
+        long replacementSize = sizeOf(replacement, 0, replacement.length);
+        long replacedSize = sizeOf(runs, from, to);
+
+        // shift the runs after the rebuilt ones along in place, along with their reach, then fill in the gap
+        int end = from + replacement.length;
+        int shifted = count - to;
+        int previousCount = count;
+        ensureCapacity(end + shifted);
+        System.arraycopy(runs, to, runs, end, shifted);
+        System.arraycopy(reach, to, reach, end, shifted);
+        System.arraycopy(replacement, 0, runs, from, replacement.length);
+        count = end + shifted;
+        if (count < previousCount) {
+            Arrays.fill(runs, count, previousCount, null);
+        }
+
+        // what is left of an interleaved run can start after runs outside the rebuilt ones
+        boolean sorted = (from == 0 || replacement.length == 0 || runs[from - 1].min() <= replacement[0].min())
+                && (end == count || replacement.length == 0
+                    || replacement[replacement.length - 1].min() <= runs[end].min());
+        if (sorted) {
+            reindex(from, end);
+        } else {
+            Arrays.sort(runs, 0, count, BY_MIN);
+            reindex(0, count);
+        }
+
+        size += replacementSize - replacedSize;
+        return replacementSize != replacedSize;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > runs.length) {
+            int grown = Math.max(capacity, Math.max(4, runs.length + (runs.length >> 1)));
+            runs = Arrays.copyOf(runs, grown);
+            reach = Arrays.copyOf(reach, grown);
+        }
+    }
+
+    /**
+     * Recomputes the reach of the runs from the given index onwards. The runs from settled onwards are the
+     * same as before, and so is their reach, once the reach of any one of them comes out unchanged, since
+     * each reach only depends on the one before it. Recomputing therefore stops there.
+     */
+    private void reindex(int from, int settled) {
+        int max = (from == 0) ? Integer.MIN_VALUE : reach[from - 1];
+        for (int index = from; index < count; index++) {
+            max = Math.max(max, runs[index].max());
+            if (index >= settled && reach[index] == max) {
+                return;
+            }
+            reach[index] = max;
+        }
+    }
+
+    /**
+     * Determines whether any run starts before the runs ahead of it have ended, in which case
+     * iterating in order means merging the runs, rather than going through them one after another.
+     */
+    private boolean isInterleaved() {
+        for (int index = 1; index < count; index++) {
+            if (runs[index].min() <= reach[index - 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the index of the first run, between from and to, whose integers, or those of a run before it,
+     * reach the given integer, or to if there is none.
+     */
+    private static int firstReaching(int[] reach, int from, int to, long integer) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (reach[middle] < integer) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int countStartingAtOrBefore(int integer) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (runs[middle].min() <= integer) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static long sizeOf(Progression[] runs, int from, int to) {
+        long size = 0;
+        for (int index = from; index < to; index++) {
+            size += runs[index].longLength();
+        }
+        return size;
+    }
+
+    private static NoSuchElementException exhausted() {
+        return new NoSuchElementException(
+                "the end of the set has been reached"
+        );
+    }
+
+    /**
+     * Applies the operation to the runs of lefts between from and to, and the first rightCount runs of rights,
+     * collecting
+     * the resulting pieces, then sorting and merging them into as few runs as possible.
+     */
+    private static Progression[] combine(Progression[] lefts, int[] leftReach, int from, int to,
+                                         Progression[] rights, int[] rightReach, int rightCount,
+                                         Operation operation) {
+        List<Progression> pieces = new ArrayList<>();
+        operation.collect(lefts, leftReach, from, to, rights, rightReach, rightCount, pieces);
+        pieces.sort(BY_MIN);
+
+        Runs result = new Runs();
+        for (Progression piece : pieces) {
+            result.add(piece);
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Collects the integers of the given run that are not in any of the others between from and to.
+     */
+    private static void subtractAll(Progression run, Progression[] others, int[] otherReach, int from, int to,
+                                    List<Progression> pieces) {
+        List<Progression> remaining = Collections.singletonList(run);
+        for (int index = firstReaching(otherReach, from, to, run.min());
+             index < to && others[index].min() <= run.max() && !remaining.isEmpty();
+             index++) {
+            List<Progression> next = new ArrayList<>();
+            for (Progression piece : remaining) {
+                subtract(piece, others[index], next);
+            }
+            remaining = next;
+        }
+        pieces.addAll(remaining);
+    }
+
+    /**
+     * Collects the integers of the given run, cut where any of the others with a different step begin and end
+     * within its range, so that a sparse run never stretches over the integers that a union adds between its
+     * own. Otherwise, such runs would pile up, and every run after them would have to be rebuilt on every
+     * change. Others with the same step are left to interleave, since they may merge into a single run.
+     */
+    private static void cutAround(Progression run, Progression[] others, int[] otherReach, int count,
+                                  List<Progression> pieces) {
+        List<Long> cuts = new ArrayList<>();
+        for (int index = firstReaching(otherReach, 0, count, run.min());
+             index < count && others[index].min() <= run.max();
+             index++) {
+            if (others[index].max() >= run.min() && others[index].step() != run.step()) {
+                cuts.add((long) others[index].min());
+                cuts.add(others[index].max() + 1L);
+            }
+        }
+        if (cuts.isEmpty()) {
+            pieces.add(run);
+            return;
+        }
+
+        Collections.sort(cuts);
+        long low = run.min();
+        for (long cut : cuts) {
+            if (cut > low) {
+                addIfPresent(pieces, restrict(run, low, cut - 1));
+                low = cut;
+            }
+        }
+        addIfPresent(pieces, restrict(run, low, run.max()));
+    }
+
+    /**
+     * Collects the integers of the given ascending run that are not in the other progression.
+     */
+    private static void subtract(Progression run, Progression other, List<Progression> pieces) {
+        if (!run.overlaps(other)) {
+            pieces.add(run);
+            return;
+        }
+
+        Progression removed = run.intersect(other).get();
+        addIfPresent(pieces, restrict(run, run.min(), removed.min() - 1L));
+
+        // the removed integers are spaced evenly, so the kept ones between them form gaps of equal length,
+        // or, read the other way, residue classes stepped by the spacing of the removed integers
+        long gaps = removed.longLength() - 1;
+        if (gaps > 0) {
+            long step = run.unsignedStep();
+            long period = removed.unsignedStep();
+            long classes = (period / step) - 1;
+            long min = removed.min();
+
+            if (gaps <= classes) {
+                for (long gap = 0; gap < gaps; gap++) {
+                    long start = min + (gap * period);
+                    pieces.add(run(start + step, start + period - step, step));
+                }
+            } else {
+                for (long residue = 1; residue <= classes; residue++) {
+                    long first = min + (residue * step);
+                    pieces.add(run(first, first + ((gaps - 1) * period), period));
+                }
+            }
+        }
+
+        addIfPresent(pieces, restrict(run, removed.max() + 1L, run.max()));
+    }
+
+    private static void addIfPresent(List<Progression> pieces, Progression piece) {
+        if (piece != null) {
+            pieces.add(piece);
+        }
+    }
+
+    /**
+     * Returns the integers of the given ascending run that lie between low and high, inclusive,
+     * as an ascending progression, or null if there are none.
+     */
+    private static Progression restrict(Progression run, long low, long high) {
+        if (high < run.min() || low > run.max()) {
+            return null;
+        }
+
+        long min = run.min();
+        long step = run.unsignedStep();
+        long first = (low <= min) ? min : min + (((low - min + step - 1) / step) * step);
+        long last = (high >= run.max()) ? run.max() : min + (((high - min) / step) * step);
+
+        if (first > last) {
+            return null;
+        }
+        return run(first, last, step);
+    }
+
+    private static Progression run(long first, long last, long step) {
+        //invariants: first <= last, and last is reachable from first by repeatedly adding step
+        if (first == last) {
+            return new Progression((int) first, (int) first, 1);
+        }
+        return new Progression((int) first, (int) last, (int) step);
+    }
+
+    private static Progression ascending(Progression progression) {
+        if (progression.min() == progression.max()) {
+            return new Progression(progression.min(), progression.min(), 1);
+        }
+        return new Progression(progression.min(), progression.max(), progression.step());
+    }
+
+    private enum Operation {
+        UNION {
+            @Override
+            void collect(Progression[] lefts, int[] leftReach, int from, int to,
+                         Progression[] rights, int[] rightReach, int rightCount, List<Progression> pieces) {
+                for (int left = from; left < to; left++) {
+                    cutAround(lefts[left], rights, rightReach, rightCount, pieces);
+                }
+                for (int right = 0; right < rightCount; right++) {
+                    subtractAll(rights[right], lefts, leftReach, from, to, pieces);
+                }
+            }
+        },
+        INTERSECTION {
+            @Override
+            void collect(Progression[] lefts, int[] leftReach, int from, int to,
+                         Progression[] rights, int[] rightReach, int rightCount, List<Progression> pieces) {
+                for (int left = from; left < to; left++) {
+                    Progression run = lefts[left];
+                    for (int right = firstReaching(rightReach, 0, rightCount, run.min());
+                         right < rightCount && rights[right].min() <= run.max();
+                         right++) {
+                        run.intersect(rights[right]).ifPresent(pieces::add);
+                    }
+                }
+            }
+        },
+        DIFFERENCE {
+            @Override
+            void collect(Progression[] lefts, int[] leftReach, int from, int to,
+                         Progression[] rights, int[] rightReach, int rightCount, List<Progression> pieces) {
+                for (int left = from; left < to; left++) {
+                    subtractAll(lefts[left], rights, rightReach, 0, rightCount, pieces);
+                }
+            }
+        };
+
+        abstract void collect(Progression[] lefts, int[] leftReach, int from, int to,
+                              Progression[] rights, int[] rightReach, int rightCount,
+                              List<Progression> pieces);
+    }
+
+    /**
+     * Iterates over interleaved runs in ascending order, by keeping a cursor for each run that has started,
+     * ordered by the next integer it will produce.
+     */
+    private static final class MergingIterator implements PrimitiveIterator.OfInt {
+        private final Progression[] runs;
+        private final int count;
+        private final PriorityQueue<Cursor> started = new PriorityQueue<>();
+        private int index = 0;
+
+        MergingIterator(Progression[] runs, int count) {
+            this.runs = runs;
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !started.isEmpty() || index < count;
+        }
+
+        @Override
+        public int nextInt() {
+            if (started.isEmpty()) {
+                if (index == count) {
+                    throw exhausted();
+                }
+                started.add(new Cursor(runs[index++]));
+            }
+            while (index < count && runs[index].min() < started.peek().next) {
+                started.add(new Cursor(runs[index++]));
+            }
+
+            Cursor cursor = started.poll();
+            int integer = cursor.next;
+            if (cursor.advance()) {
+                started.add(cursor);
+            }
+            return integer;
+        }
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+        private final PrimitiveIterator.OfInt iterator;
+        private int next;
+
+        Cursor(Progression run) {
+            this.iterator = run.iterator();
+            this.next = iterator.nextInt();
+        }
+
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            next = iterator.nextInt();
+            return true;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return Integer.compare(next, other.next);
+        }
+    }
+
+    /**
+     * Collects runs sorted by their smallest integers, merging each one into the previous run when
+     * both can be expressed as a single progression.
+     */
+    private static final class Runs {
+        private Progression[] runs = NO_RUNS;
+        private int count = 0;
+
+        void add(Progression run) {
+            if (count > 0) {
+                Progression merged = merge(runs[count - 1], run);
+                if (merged != null) {
+                    runs[count - 1] = merged;
+                    return;
+                }
+            }
+            if (count == runs.length) {
+                runs = Arrays.copyOf(runs, Math.max(4, count * 2));
+            }
+            runs[count++] = run;
+        }
+
+        Progression[] toArray() {
+            return Arrays.copyOf(runs, count);
+        }
+
+        private static Progression merge(Progression previous, Progression next) {
+            if (interleave(previous, next)) {
+                int halfStep = (int) (previous.unsignedStep() / 2);
+                return new Progression(previous.min(), Math.max(previous.max(), next.max()), halfStep);
+            }
+
+            long gap = (long) next.min() - previous.max();
+            boolean previousSingle = previous.min() == previous.max();
+            boolean nextSingle = next.min() == next.max();
+
+            long step;
+            if (previousSingle && nextSingle) {
+                step = gap;
+            } else if (previousSingle) {
+                step = next.unsignedStep();
+            } else if (nextSingle || previous.step() == next.step()) {
+                step = previous.unsignedStep();
+            } else {
+                return null;
+            }
+
+            if (gap != step || step > Integer.MAX_VALUE) {
+                return null;
+            }
+            return new Progression(previous.min(), next.max(), (int) step);
+        }
+
+        /*
+         * two runs with the same even step, offset from each other by half of it, and
+         * ending no more than half a step apart, together make up a run with half the step
+         */
+        private static boolean interleave(Progression previous, Progression next) {
+            long step = previous.unsignedStep();
+            return previous.min() != previous.max() && next.min() != next.max() &&
+                   step == next.unsignedStep() && step % 2 == 0 &&
+                   (long) next.min() - previous.min() == step / 2 &&
+                   Math.abs((long) next.max() - previous.max()) == step / 2;
+        }
+    }
+}
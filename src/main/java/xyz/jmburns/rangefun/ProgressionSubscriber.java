@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.concurrent.Flow;
+
+/**
+ * A {@link Flow.Subscriber} that can receive the integers of a {@link Progression} in batches, without boxing.
+ * When subscribed to a publisher from {@link Progression#asPublisher()}, each batch is itself a progression, the
+ * next run of integers in order, and {@link #onNext(Object)} is never called.
+ *
+ * A batch of {@code n} integers uses up {@code n} of the outstanding demand, so batches are never longer than
+ * the total requested so far, minus the integers already received.
+ *
+ * @see Progression#asPublisher()
+ */
+public interface ProgressionSubscriber extends Flow.Subscriber<Integer> {
+    /**
+     * Receives the next batch of integers, in order. Like {@link #onNext(Object)}, this is never called
+     * concurrently, and never after {@link #onComplete()} or {@link #onError(Throwable)}.
+     *
+     * @param batch the next integers, which can be iterated without boxing, with
+     *        {@link Progression#forEachInt(java.util.function.IntConsumer)}
+     */
+    void onNextBatch(Progression batch);
+}
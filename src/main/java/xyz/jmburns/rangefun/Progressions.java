@@ -22,6 +22,9 @@ package xyz.jmburns.rangefun;
 
 import java.lang.reflect.Array;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
  * This class forms most of the public API for this library, and is intended to be the point
@@ -105,4 +108,221 @@ public class Progressions {
 
         return count(length);
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a new {@link LongProgression} instance with the given starting, ending, and stepping
+     * values.
+     *
+     * @param start the first value in the progression, inclusive
+     * @param end the point which no value in the progression will go over, but may or may not be equal to
+     * @param step the amount by which each value in the progression will differ from the previous one.
+     *             Cannot be zero
+     * @return a new LongProgression representing the given start, end, and step values
+     * @see Progressions#progression(int, int, int)
+     * @throws IllegalArgumentException if step == 0
+     */
+    public static LongProgression longProgression(long start, long end, long step) {
+        if (step == 0) { throw new IllegalArgumentException("step cannot be zero"); }
+        return new LongProgression(start, end, step);
+    }
+
+    /**
+     * Creates a new {@link LongProgression} instance that behaves like a range of {@code long} values,
+     * with the given starting and ending values.
+     *
+     * @implNote This method behaves exactly as if calling {@code Progressions.longProgression(start, end, 1)}.
+     *
+     * @param start the first value in the progression, inclusive
+     * @param end the last value in the progression, inclusive
+     * @return a new LongProgression representing the given start and end values
+     * @see Progressions#longProgression(long, long, long)
+     */
+    public static LongProgression longRange(long start, long end) {
+        return longProgression(start, end, RANGE_STEP);
+    }
+
+    /**
+     * Creates a new {@link ProgressionSet} holding all the integers in the given progressions.
+     * The progressions may overlap, and may be given in any order.
+     *
+     * @param progressions the progressions whose integers the set should hold
+     * @return a new, mutable ProgressionSet holding the integers in all of the given progressions
+     * @throws NullPointerException if the given array, or any of the progressions in it, is null
+     */
+    public static ProgressionSet progressionSet(Progression... progressions) {
+        ProgressionSet set = new ProgressionSet(new Progression[0]);
+        for (Progression progression : progressions) {
+            set.add(progression);
+        }
+        return set;
+    }
+
+    /**
+     * Creates a new {@link Progression2D} instance, holding every combination of a row from the given rows,
+     * and a column from the given columns.
+     *
+     * @param rows the progression of rows
+     * @param columns the progression of columns
+     * @return a new Progression2D over the given rows and columns
+     * @throws NullPointerException if either progression is null
+     * @throws ArithmeticException if the grid holds more than {@code Long.MAX_VALUE} points
+     */
+    public static Progression2D progression2D(Progression rows, Progression columns) {
+        Objects.requireNonNull(rows);
+        Objects.requireNonNull(columns);
+        return new Progression2D(rows, columns);
+    }
+
+    /**
+     * Creates a new {@link ProgressionND} instance, holding every combination of an integer from each
+     * of the given progressions, in row-major order.
+     *
+     * @param dimensions the progression of each dimension, outermost first
+     * @return a new ProgressionND over the given dimensions
+     * @throws NullPointerException if the given array, or any of the progressions in it, is null
+     * @throws IllegalArgumentException if no dimensions are given
+     * @throws ArithmeticException if the grid holds more than {@code Long.MAX_VALUE} points
+     */
+    public static ProgressionND progressionND(Progression... dimensions) {
+        if (dimensions.length == 0) { throw new IllegalArgumentException("at least one dimension is required"); }
+        for (Progression dimension : dimensions) {
+            Objects.requireNonNull(dimension);
+        }
+        return new ProgressionND(dimensions.clone());
+    }
+
+    /**
+     * Creates a new, empty {@link ProgressionCache}, which hands out shared {@link Progression} instances
+     * for recurring starting, ending, and stepping values, instead of creating a new one on every call.
+     *
+     * @param capacity the most progressions the cache should hold. Rounded up to a power of two
+     * @return a new, empty ProgressionCache
+     * @throws IllegalArgumentException if capacity is not positive, or is greater than 2^30
+     */
+    public static ProgressionCache progressionCache(int capacity) {
+        return new ProgressionCache(ProgressionCache.checkCapacity(capacity));
+    }
+
+    /**
+     * Creates a new {@link ProgressionCounters} instance, with every counter at zero. It only counts once
+     * registered, as in {@code Progressions.addMetrics(Progressions.progressionCounters())}.
+     *
+     * @return a new ProgressionCounters
+     * @see Progressions#addMetrics(ProgressionMetrics)
+     */
+    public static ProgressionCounters progressionCounters() {
+        return new ProgressionCounters();
+    }
+
+    /**
+     * Registers the given {@link ProgressionMetrics}, to be told about expensive operations on large
+     * progressions, alongside any that were found with {@link java.util.ServiceLoader}.
+     *
+     * @param metrics the metrics to register
+     * @throws NullPointerException if the given metrics is null
+     * @see Progressions#removeMetrics(ProgressionMetrics)
+     */
+    public static void addMetrics(ProgressionMetrics metrics) {
+        ProgressionMonitor.add(metrics);
+    }
+
+    /**
+     * Unregisters the given {@link ProgressionMetrics}, if it was registered with
+     * {@link Progressions#addMetrics(ProgressionMetrics)}, or found with {@link java.util.ServiceLoader}.
+     *
+     * @param metrics the metrics to unregister
+     * @return true if the metrics was registered, false otherwise
+     */
+    public static boolean removeMetrics(ProgressionMetrics metrics) {
+        return ProgressionMonitor.remove(metrics);
+    }
+
+    /**
+     * Creates a new sequential {@code IntStream} of the progression with the given starting, ending,
+     * and stepping values.
+     *
+     * @implNote This method behaves exactly as if calling
+     * {@code Progressions.progression(start, end, step).stream()}.
+     *
+     * @param start the first integer in the progression, inclusive
+     * @param end the point which no integer in the progression will go over, but may or may not be equal to
+     * @param step the amount by which each integer in the progression will differ from the previous one.
+     *             Cannot be zero
+     * @return a new sequential IntStream over the given progression
+     * @see Progressions#progression(int, int, int)
+     * @see Progression#stream()
+     * @throws IllegalArgumentException if step == 0
+     */
+    public static IntStream stream(int start, int end, int step) {
+        return progression(start, end, step).stream();
+    }
+
+    /**
+     * Creates a new parallel {@code IntStream} of the progression with the given starting, ending,
+     * and stepping values.
+     *
+     * @implNote This method behaves exactly as if calling
+     * {@code Progressions.progression(start, end, step).parallelStream()}.
+     *
+     * @param start the first integer in the progression, inclusive
+     * @param end the point which no integer in the progression will go over, but may or may not be equal to
+     * @param step the amount by which each integer in the progression will differ from the previous one.
+     *             Cannot be zero
+     * @return a new parallel IntStream over the given progression
+     * @see Progressions#progression(int, int, int)
+     * @see Progression#parallelStream()
+     * @throws IllegalArgumentException if step == 0
+     */
+    public static IntStream parallelStream(int start, int end, int step) {
+        return progression(start, end, step).parallelStream();
+    }
+
+    /**
+     * Performs the given action for each integer in the given progression, in parallel, on the common
+     * {@link ForkJoinPool}. The action may be called for different integers concurrently, and in any order.
+     *
+     * @implNote This method behaves exactly as if calling
+     * {@code Progressions.parallelFor(progression, action, ForkJoinPool.commonPool(), 1)}.
+     *
+     * @param progression the progression to iterate over
+     * @param action the action to be performed for each integer
+     * @throws NullPointerException if the given progression or action is null
+     * @see Progressions#parallelFor(Progression, IntConsumer, ForkJoinPool, int)
+     */
+    public static void parallelFor(Progression progression, IntConsumer action) {
+        parallelFor(progression, action, ForkJoinPool.commonPool(), 1);
+    }
+
+    /**
+     * Performs the given action for each integer in the given progression, in parallel, on the given
+     * {@link ForkJoinPool}. The action may be called for different integers concurrently, and in any order.
+     * This method returns once the action has been performed for every integer.
+     *
+     * @implNote The progression is split recursively by index, and each leaf is run as a simple counted loop,
+     * without boxing. The size of the leaves adapts to the cost of the action: a prefix of the progression is
+     * first run on the calling thread and timed, so that cheap actions get large leaves, and expensive actions
+     * get small ones, but never smaller than {@code minimumGrain}.
+     *
+     * @param progression the progression to iterate over
+     * @param action the action to be performed for each integer
+     * @param pool the pool to run the action on
+     * @param minimumGrain the least number of integers that a single task will handle
+     * @throws NullPointerException if the given progression, action, or pool is null
+     * @throws IllegalArgumentException if minimumGrain is not positive
+     * @throws RuntimeException if the action throws, once the tasks already running have finished. Tasks that
+     *         have not started yet are skipped, and the action is never performed after this method returns
+     */
+    public static void parallelFor(Progression progression, IntConsumer action, ForkJoinPool pool, int minimumGrain) {
+        Objects.requireNonNull(progression);
+        Objects.requireNonNull(action);
+        Objects.requireNonNull(pool);
+        if (minimumGrain <= 0) { throw new IllegalArgumentException("minimumGrain must be positive"); }
+
+        ParallelForTask.run(
+                progression.longLength(),
+                (fromIndex, toIndex) -> progression.forEachInRange(fromIndex, toIndex, action),
+                pool,
+                minimumGrain
+        );
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.SplittableRandom;
+
+/*
+ * Vitter's sequential random sampling (J. S. Vitter, "An Efficient Algorithm for Sequential Random Sampling",
+ * ACM TOMS 13(1), 1987). Rather than deciding for each of the n indices whether to take it, Method D draws the
+ * number of indices to skip before the next one taken, so choosing k of n indices, in ascending order, takes
+ * O(k) expected time, whatever n is. Once fewer than ALPHA_INVERSE indices remain per index still to be taken,
+ * the cheaper Method A finishes the sample, which is then O(k) as well.
+ */
+final class SequentialSampler {
+    private static final int ALPHA_INVERSE = 13;
+
+    private final SplittableRandom random;
+    private final long[] indices;
+    private int taken;
+    private long current = -1;
+
+    private SequentialSampler(int sampleSize, long seed) {
+        this.random = new SplittableRandom(seed);
+        this.indices = new long[sampleSize];
+    }
+
+    static long[] sample(long populationSize, int sampleSize, long seed) {
+        //invariants: 0 <= sampleSize <= populationSize
+        SequentialSampler sampler = new SequentialSampler(sampleSize, seed);
+        if (sampleSize > 0) {
+            sampler.methodD(sampleSize, populationSize);
+        }
+        return sampler.indices;
+    }
+
+    private void methodD(long n, long populationSize) {
+        long bigN = populationSize;
+        double nReal = n;
+        double nInverse = 1.0 / nReal;
+        double bigNReal = bigN;
+        double vPrime = Math.exp(Math.log(uniform()) * nInverse);
+        long quotient1 = -n + 1 + bigN;
+        double quotient1Real = -nReal + 1.0 + bigNReal;
+        long threshold = ALPHA_INVERSE * n;
+
+        while (n > 1 && threshold < bigN) {
+            double nMinusOneInverse = 1.0 / (-1.0 + nReal);
+            long skip;
+            while (true) {
+                double x;
+                while (true) {
+                    x = bigNReal * (-vPrime + 1.0);
+                    skip = (long) x;
+                    if (skip < quotient1) {
+                        break;
+                    }
+                    vPrime = Math.exp(Math.log(uniform()) * nInverse);
+                }
+
+                double u = uniform();
+                double negativeSkipReal = -skip;
+                double y1 = Math.exp(Math.log(u * bigNReal / quotient1Real) * nMinusOneInverse);
+                vPrime = y1 * (-x / bigNReal + 1.0) * (quotient1Real / (negativeSkipReal + quotient1Real));
+                if (vPrime <= 1.0) {
+                    // accepted by the quick test
+                    break;
+                }
+
+                double y2 = 1.0;
+                double top = -1.0 + bigNReal;
+                double bottom;
+                long limit;
+                if (n - 1 > skip) {
+                    bottom = -nReal + bigNReal;
+                    limit = -skip + bigN;
+                } else {
+                    bottom = -1.0 + negativeSkipReal + bigNReal;
+                    limit = quotient1;
+                }
+                for (long t = bigN - 1; t >= limit; t--) {
+                    y2 = (y2 * top) / bottom;
+                    top = -1.0 + top;
+                    bottom = -1.0 + bottom;
+                }
+
+                if (bigNReal / (-x + bigNReal) >= y1 * Math.exp(Math.log(y2) * nMinusOneInverse)) {
+                    // accepted by the full test
+                    vPrime = Math.exp(Math.log(uniform()) * nMinusOneInverse);
+                    break;
+                }
+                vPrime = Math.exp(Math.log(uniform()) * nInverse);
+            }
+
+            take(skip);
+            bigN = -skip + (bigN - 1);
+            bigNReal = -skip + (-1.0 + bigNReal);
+            n--;
+            nReal = -1.0 + nReal;
+            nInverse = nMinusOneInverse;
+            quotient1 = -skip + quotient1;
+            quotient1Real = -skip + quotient1Real;
+            threshold -= ALPHA_INVERSE;
+        }
+
+        if (n > 1) {
+            methodA(n, bigN);
+        } else {
+            take(Math.min((long) (bigN * vPrime), bigN - 1));
+        }
+    }
+
+    private void methodA(long n, long populationSize) {
+        double top = populationSize - n;
+        double bigNReal = populationSize;
+
+        while (n >= 2) {
+            double v = random.nextDouble();
+            long skip = 0;
+            double quotient = top / bigNReal;
+            while (quotient > v) {
+                skip++;
+                top = -1.0 + top;
+                bigNReal = -1.0 + bigNReal;
+                quotient = (quotient * top) / bigNReal;
+            }
+            take(skip);
+            bigNReal = -1.0 + bigNReal;
+            n--;
+        }
+
+        take((long) (Math.round(bigNReal) * random.nextDouble()));
+    }
+
+    private void take(long skip) {
+        current += skip + 1;
+        indices[taken++] = current;
+    }
+
+    /* uniform over (0, 1], so that its logarithm is always finite */
+    private double uniform() {
+        return 1.0 - random.nextDouble();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+class ShuffledSpliterator implements Spliterator.OfInt {
+    private static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | DISTINCT | IMMUTABLE | NONNULL;
+
+    private final Progression progression;
+    private final FeistelPermutation permutation;
+    private final long fence;
+    private long position;
+
+    ShuffledSpliterator(Progression progression, FeistelPermutation permutation, long origin, long fence) {
+        //invariants: 0 <= origin <= fence <= progression.longLength()
+        this.progression = progression;
+        this.permutation = permutation;
+        this.position = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public OfInt trySplit() {
+        long origin = position;
+        long middle = (origin + fence) >>> 1;
+        if (origin >= middle) {
+            return null;
+        }
+
+        position = middle;
+        return new ShuffledSpliterator(progression, permutation, origin, middle);
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        Objects.requireNonNull(action);
+        if (position < fence) {
+            action.accept(progression.calculateForIndex((int) permutation.permute(position)));
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        Objects.requireNonNull(action);
+        long position = this.position;
+
+        this.position = fence;
+        for (; position < fence; position++) {
+            action.accept(progression.calculateForIndex((int) permutation.permute(position)));
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - position;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ShuffledSpliterator{progression=%s, fence=%s, position=%s}",
+                progression, fence, position
+        );
+    }
+}
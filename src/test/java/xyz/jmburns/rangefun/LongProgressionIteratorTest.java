@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongProgressionIteratorTest {
+    @Test
+    void shouldReturnCorrectAscendingValues() {
+        PrimitiveIterator.OfLong iterator = new LongProgressionIterator(1, 5, 2);
+
+        assertEquals(1, iterator.nextLong());
+        assertEquals(3, iterator.nextLong());
+        assertEquals(5, iterator.nextLong());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void shouldReturnCorrectDescendingValues() {
+        PrimitiveIterator.OfLong iterator = new LongProgressionIterator(6, 2, -4);
+
+        assertEquals(6, iterator.nextLong());
+        assertEquals(2, iterator.nextLong());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenExhausted() {
+        PrimitiveIterator.OfLong iterator = new LongProgressionIterator(Long.MAX_VALUE, Long.MAX_VALUE, 1);
+
+        iterator.nextLong();
+
+        assertThrows(NoSuchElementException.class, iterator::nextLong);
+    }
+
+    @Test
+    void forEachRemainingShouldStopAtMaximumLong() {
+        long[] expected = { Long.MAX_VALUE - 1, Long.MAX_VALUE, };
+        PrimitiveIterator.OfLong iterator = new LongProgressionIterator(Long.MAX_VALUE - 2, Long.MAX_VALUE, 1);
+        long[] actual = new long[expected.length];
+        int[] index = { 0 };
+
+        iterator.nextLong();
+        iterator.forEachRemaining((long value) -> actual[index[0]++] = value);
+
+        assertArrayEquals(expected, actual);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void equivalentInstancesShouldBeEqual() {
+        PrimitiveIterator.OfLong iterator1 = new LongProgressionIterator(0, 9, 3);
+        PrimitiveIterator.OfLong iterator2 = new LongProgressionIterator(0, 9, 3);
+
+        assertEquals(iterator1, iterator2);
+        assertEquals(iterator1.hashCode(), iterator2.hashCode());
+    }
+
+    @Test
+    void nonEquivalentInstancesShouldBeUnequal() {
+        PrimitiveIterator.OfLong iterator1 = new LongProgressionIterator(0, 9, 3);
+        PrimitiveIterator.OfLong iterator2 = new LongProgressionIterator(0, 9, 3);
+
+        iterator2.nextLong();
+
+        assertNotEquals(iterator1, iterator2);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongProgressionTest {
+    @Test
+    void shouldReturnCorrectIterator() {
+        LongProgression progression = new LongProgression(0, 4, 2);
+        long[] expected = { 0, 2, 4, };
+
+        long[] actual = LongStream.of(drain(progression.iterator())).toArray();
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void simpleProgressionShouldContainValue() {
+        LongProgression progression = new LongProgression(0, 6L << 40, 3L << 40);
+        assertTrue(progression.contains(3L << 40));
+    }
+
+    @Test
+    void simpleProgressionShouldNotContainValue() {
+        LongProgression progression = new LongProgression(0, 100, 20);
+        assertFalse(progression.contains(50));
+    }
+
+    @Test
+    void progressionShouldNotContainValueOutOfBounds() {
+        LongProgression progression = new LongProgression(5, 7, 1);
+        assertFalse(progression.contains(8));
+    }
+
+    @Test
+    void reverseProgressionShouldOnlyContainValuesOnItsStep() {
+        LongProgression progression = new LongProgression(6, 1, 2);
+
+        assertTrue(progression.contains(2));
+        assertFalse(progression.contains(1));
+    }
+
+    @Test
+    void shouldGetCorrectValueAtSimpleIndex() {
+        LongProgression progression = new LongProgression(10, 20, 2);
+
+        long valueAtIndex = progression.get(2);
+
+        assertEquals(14, valueAtIndex);
+    }
+
+    @Test
+    void shouldGetCorrectValueAtReversedIndex() {
+        LongProgression progression = new LongProgression(Long.MAX_VALUE, 0, 3);
+
+        long valueAtIndex = progression.get(1);
+
+        assertEquals(Long.MAX_VALUE - 3, valueAtIndex);
+    }
+
+    @Test
+    void shouldThrowExceptionForNegativeIndex() {
+        LongProgression progression = new LongProgression(10, 20, 2);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> progression.get(-1));
+    }
+
+    @Test
+    void shouldThrowExceptionForTooHighIndex() {
+        LongProgression progression = new LongProgression(10, 20, 2);
+
+        long length = progression.length();
+        assertThrows(IndexOutOfBoundsException.class, () -> progression.get(length));
+    }
+
+    @Test
+    void shouldCalculateLengthLongerThanInteger() {
+        LongProgression progression = new LongProgression(0, 1L << 40, 2);
+        long expected = (1L << 39) + 1;
+
+        long length = progression.length();
+
+        assertEquals(expected, length);
+    }
+
+    @Test
+    void shouldCalculateCorrectLengthAcrossEntireLongRange() {
+        LongProgression progression = new LongProgression(Long.MIN_VALUE, Long.MAX_VALUE, 4);
+
+        long length = progression.length();
+
+        assertEquals(1L << 62, length);
+    }
+
+    @Test
+    void shouldThrowExceptionForLengthTooLongForLong() {
+        LongProgression progression = new LongProgression(Long.MIN_VALUE, Long.MAX_VALUE, 1);
+
+        assertThrows(ArithmeticException.class, progression::length);
+    }
+
+    @Test
+    void iterationShouldStopAtMaximumLong() {
+        long[] expected = { Long.MAX_VALUE - 10, Long.MAX_VALUE - 5, Long.MAX_VALUE, };
+        LongProgression progression = new LongProgression(Long.MAX_VALUE - 10, Long.MAX_VALUE, 5);
+
+        long[] actual = drain(progression.iterator());
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void iterationShouldStopAtMinimumLong() {
+        long[] expected = { Long.MIN_VALUE + 2, Long.MIN_VALUE + 1, Long.MIN_VALUE, };
+        LongProgression progression = new LongProgression(Long.MIN_VALUE + 2, Long.MIN_VALUE, 1);
+        long[] actual = new long[expected.length];
+        int[] index = { 0 };
+
+        progression.forEachLong(value -> actual[index[0]++] = value);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void shouldHandleMinimumLongStep() {
+        LongProgression forwards = Progressions.longProgression(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE);
+        LongProgression backwards = Progressions.longProgression(Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE);
+
+        assertArrayEquals(new long[] { Long.MIN_VALUE, 0 }, forwards.stream().toArray());
+        assertArrayEquals(new long[] { Long.MAX_VALUE, -1 }, backwards.stream().toArray());
+        assertEquals(2, forwards.length());
+        assertEquals(0, forwards.get(1));
+        assertTrue(forwards.contains(0));
+        assertFalse(forwards.contains(Long.MAX_VALUE));
+    }
+
+    @Test
+    void reversedProgressionShouldReturnCorrectValues() {
+        long[] expected = { 7, 6, 5, 4, 3, 2, };
+        LongProgression initial = new LongProgression(2, 7, 1);
+
+        long[] actual = initial.reverse().stream().toArray();
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void parallelStreamShouldProduceSameValuesAsSequentialStream() {
+        LongProgression progression = new LongProgression(Long.MAX_VALUE, Long.MAX_VALUE - 1_000_000, 3);
+
+        long sequentialSum = progression.stream().map(value -> value & 0xFFFF).sum();
+        long parallelSum = progression.parallelStream().map(value -> value & 0xFFFF).sum();
+
+        assertEquals(sequentialSum, parallelSum);
+    }
+
+    @Test
+    void equivalentInstancesShouldBeEqual() {
+        LongProgression progression1 = new LongProgression(0, 10, 5);
+        LongProgression progression2 = new LongProgression(0, 10, 5);
+
+        assertTrue(progression1.equals(progression2));
+        assertEquals(progression1.hashCode(), progression2.hashCode());
+        assertEquals(0, progression1.compareTo(progression2));
+    }
+
+    @Test
+    void nonEquivalentInstancesShouldBeUnequal() {
+        LongProgression progression1 = new LongProgression(0, 10, 5);
+        LongProgression progression2 = new LongProgression(10, 0, 5);
+
+        assertFalse(progression1.equals(progression2));
+    }
+
+    private static long[] drain(PrimitiveIterator.OfLong iterator) {
+        LongStream.Builder values = LongStream.builder();
+        while (iterator.hasNext()) {
+            values.add(iterator.nextLong());
+        }
+        return values.build().toArray();
+    }
+}
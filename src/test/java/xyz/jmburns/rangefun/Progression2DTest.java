@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static xyz.jmburns.rangefun.Progressions.progression;
+import static xyz.jmburns.rangefun.Progressions.progression2D;
+import static xyz.jmburns.rangefun.Progressions.range;
+
+class Progression2DTest {
+    @Test
+    void forEachShouldVisitPointsInRowMajorOrder() {
+        Progression2D grid = progression2D(progression(2, 0, 2), range(5, 6));
+        List<String> visited = new ArrayList<>();
+
+        grid.forEach((int row, int column) -> visited.add(row + "," + column));
+
+        assertEquals(Arrays.asList("2,5", "2,6", "0,5", "0,6"), visited);
+        assertEquals(4, grid.size());
+    }
+
+    @Test
+    void rowAndColumnShouldBeInverseOfIndexOf() {
+        Progression2D grid = progression2D(range(-3, 3), progression(10, 0, 5));
+
+        for (long index = 0; index < grid.size(); index++) {
+            int row = grid.row(index);
+            int column = grid.column(index);
+
+            assertEquals(index, grid.indexOf(row, column));
+        }
+    }
+
+    @Test
+    void indexOfShouldReturnNegativeOneForMissingPoint() {
+        Progression2D grid = progression2D(range(0, 3), progression(0, 9, 3));
+
+        long index = grid.indexOf(1, 5);
+
+        assertEquals(-1, index);
+        assertFalse(grid.contains(1, 5));
+        assertTrue(grid.contains(1, 6));
+    }
+
+    @Test
+    void shouldThrowExceptionForOutOfBoundsIndex() {
+        Progression2D grid = progression2D(range(0, 1), range(0, 1));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.row(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.column(-1));
+    }
+
+    @Test
+    void partitionShouldSplitRows() {
+        Progression2D grid = progression2D(range(0, 9), range(0, 4));
+
+        List<Progression2D> blocks = grid.partition(4);
+
+        assertEquals(4, blocks.size());
+        assertEquals(progression2D(range(0, 2), range(0, 4)), blocks.get(0));
+        assertEquals(progression2D(range(8, 9), range(0, 4)), blocks.get(3));
+        assertEquals(50, blocks.stream().mapToLong(Progression2D::size).sum());
+    }
+
+    @Test
+    void indicesShouldMatchForEach() {
+        Progression2D grid = progression2D(progression(0, 10, 5), range(3, 1));
+        List<String> visited = new ArrayList<>();
+
+        grid.forEach((int row, int column) -> visited.add(row + "," + column));
+        List<String> indexed = grid.indices()
+                .mapToObj(index -> grid.row(index) + "," + grid.column(index))
+                .collect(Collectors.toList());
+
+        assertEquals(visited, indexed);
+    }
+
+    @Test
+    void forEachParallelShouldVisitEveryPointOnce() {
+        Progression2D grid = progression2D(progression(999, 0, 3), range(0, 2_999));
+        Set<Long> visited = ConcurrentHashMap.newKeySet();
+
+        grid.forEachParallel((int row, int column) -> assertTrue(visited.add(grid.indexOf(row, column))));
+
+        assertEquals(grid.size(), visited.size());
+    }
+
+    @Test
+    void toProgressionNDShouldKeepRowsOutermost() {
+        Progression2D grid = progression2D(range(0, 1), range(5, 9));
+
+        ProgressionND product = grid.toProgressionND();
+
+        assertEquals(Arrays.asList(range(0, 1), range(5, 9)), product.dimensions());
+        assertArrayEquals(new int[] { grid.row(7), grid.column(7), }, product.get(7));
+    }
+
+    @Test
+    void forEachTiledShouldVisitTilesInRowMajorOrder() {
+        Progression2D grid = progression2D(range(0, 2), range(0, 2));
+        List<String> visited = new ArrayList<>();
+
+        grid.forEachTiled(2, 2, (int row, int column) -> visited.add(row + "," + column));
+
+        assertEquals(Arrays.asList(
+                "0,0", "0,1", "1,0", "1,1", "0,2", "1,2",
+                "2,0", "2,1", "2,2"
+        ), visited);
+    }
+
+    @Test
+    void forEachTiledShouldVisitEveryPointOnce() {
+        Progression2D grid = progression2D(progression(20, 0, 3), progression(-5, 30, 4));
+        Set<String> expected = new HashSet<>();
+        List<String> visited = new ArrayList<>();
+
+        grid.forEach((int row, int column) -> expected.add(row + "," + column));
+        grid.forEachTiled(3, 4, (int row, int column) -> visited.add(row + "," + column));
+
+        assertEquals(expected.size(), visited.size());
+        assertEquals(expected, new HashSet<>(visited));
+    }
+
+    @Test
+    void forEachZOrderShouldInterleaveRowAndColumnBits() {
+        Progression2D grid = progression2D(range(0, 3), range(0, 3));
+        List<Long> codes = new ArrayList<>();
+
+        grid.forEachZOrder((int row, int column) -> codes.add(interleave(row, column)));
+
+        for (int index = 0; index < codes.size(); index++) {
+            assertEquals(index, (long) codes.get(index));
+        }
+        assertEquals(16, codes.size());
+    }
+
+    @Test
+    void forEachZOrderShouldVisitEveryPointOfNonSquareGridOnce() {
+        Progression2D grid = progression2D(range(10, 12), progression(100, 0, 7));
+        Set<String> expected = new HashSet<>();
+        List<String> visited = new ArrayList<>();
+        List<Long> codes = new ArrayList<>();
+
+        grid.forEach((int row, int column) -> expected.add(row + "," + column));
+        grid.forEachZOrder((int row, int column) -> {
+            visited.add(row + "," + column);
+            codes.add(interleave(row - 10, grid.columns().indexOf(column)));
+        });
+
+        assertEquals(expected.size(), visited.size());
+        assertEquals(expected, new HashSet<>(visited));
+        assertEquals(codes.stream().sorted().collect(Collectors.toList()), codes);
+    }
+
+    @Test
+    void shouldThrowExceptionForNonPositiveTileSize() {
+        Progression2D grid = progression2D(range(0, 1), range(0, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> grid.forEachTiled(0, 4, (int row, int column) -> { }));
+    }
+
+    private static long interleave(int row, int column) {
+        long code = 0;
+        for (int bit = 0; bit < 32; bit++) {
+            code |= ((long) (column >>> bit) & 1) << (2 * bit);
+            code |= ((long) (row >>> bit) & 1) << (2 * bit + 1);
+        }
+        return code;
+    }
+}
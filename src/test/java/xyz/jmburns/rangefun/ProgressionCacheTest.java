@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static xyz.jmburns.rangefun.Progressions.progression;
+import static xyz.jmburns.rangefun.Progressions.progressionCache;
+
+class ProgressionCacheTest {
+    @Test
+    void repeatedLookupsShouldReturnSameInstance() {
+        ProgressionCache cache = progressionCache(16);
+
+        Progression first = cache.progression(1, 10, 3);
+        Progression second = cache.progression(1, 10, 3);
+
+        assertSame(first, second);
+        assertEquals(progression(1, 10, 3), first);
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void indicesShouldShareInstancesForArraysOfSameLength() {
+        ProgressionCache cache = progressionCache(16);
+
+        Progression first = cache.indices(new int[8]);
+        Progression second = cache.indices(new String[8]);
+        Progression third = cache.count(8);
+
+        assertSame(first, second);
+        assertSame(first, third);
+        assertEquals(Progressions.count(8), first);
+    }
+
+    @Test
+    void shouldNeverHoldMoreThanCapacity() {
+        ProgressionCache cache = progressionCache(4);
+
+        for (int to = 1; to <= 100; to++) {
+            cache.count(to);
+        }
+
+        assertEquals(4, cache.capacity());
+        assertEquals(100, cache.missCount());
+        assertTrue(cache.evictionCount() >= 96, "evictions: " + cache.evictionCount());
+    }
+
+    @Test
+    void capacityShouldBeRoundedUpToPowerOfTwo() {
+        ProgressionCache cache = progressionCache(100);
+
+        int capacity = cache.capacity();
+
+        assertEquals(128, capacity);
+    }
+
+    @Test
+    void clearShouldEmptyCacheAndResetCounters() {
+        ProgressionCache cache = progressionCache(8);
+        Progression cached = cache.range(0, 5);
+        cache.range(0, 5);
+
+        cache.clear();
+        Progression recreated = cache.range(0, 5);
+
+        assertNotSame(cached, recreated);
+        assertEquals(0, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void shouldValidateArgumentsLikeProgressions() {
+        ProgressionCache cache = progressionCache(8);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.progression(0, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> cache.indices("not an array"));
+        assertThrows(NullPointerException.class, () -> cache.indices(null));
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> progressionCache(0));
+        assertThrows(IllegalArgumentException.class, () -> progressionCache((1 << 30) + 1));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressionCodecTest {
+    @Test
+    void shouldRoundTripProgressions() throws IOException {
+        Progression[] progressions = {
+                new Progression(0, 10, 3), new Progression(10, 0, 3), new Progression(-5, -5, 1),
+                new Progression(Integer.MIN_VALUE, Integer.MAX_VALUE, 1),
+                new Progression(Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE),
+                new Progression(7, 9, 100),
+        };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+
+        for (Progression progression : progressions) {
+            ProgressionCodec.write(progression, output);
+        }
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+        for (Progression progression : progressions) {
+            assertEquals(progression, ProgressionCodec.read(input));
+        }
+        assertEquals(-1, input.read());
+    }
+
+    @Test
+    void encodedLengthShouldMatchBytesWritten() throws IOException {
+        Progression small = new Progression(0, 99, 1);
+        Progression large = new Progression(Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE);
+
+        assertEquals(4, ProgressionCodec.encodedLength(small));
+        assertEquals(encode(small).length, ProgressionCodec.encodedLength(small));
+        assertEquals(16, ProgressionCodec.encodedLength(large));
+        assertEquals(encode(large).length, ProgressionCodec.encodedLength(large));
+    }
+
+    @Test
+    void shouldRejectUnknownFlags() {
+        byte[] bytes = { 2, 0, 0, 1, };
+
+        assertThrows(IOException.class, () -> decode(bytes));
+    }
+
+    @Test
+    void shouldRejectZeroStep() {
+        byte[] bytes = { 0, 0, 5, 0, };
+
+        assertThrows(IOException.class, () -> decode(bytes));
+    }
+
+    @Test
+    void shouldRejectNegativeStep() {
+        byte[] bytes = { 0, 0, 5, (byte) 0xFB, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, };
+
+        assertThrows(IOException.class, () -> decode(bytes));
+    }
+
+    @Test
+    void shouldRejectUpperBoundThatWrapsAround() {
+        byte[] bytes = { 0, (byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 2, 1, };
+
+        assertThrows(IOException.class, () -> decode(bytes));
+    }
+
+    @Test
+    void shouldThrowExceptionForTruncatedInput() throws IOException {
+        byte[] bytes = encode(new Progression(1_000, 2_000_000, 3));
+        byte[] truncated = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        assertThrows(EOFException.class, () -> decode(truncated));
+    }
+
+    private static byte[] encode(Progression progression) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ProgressionCodec.write(progression, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static Progression decode(byte[] bytes) throws IOException {
+        return ProgressionCodec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
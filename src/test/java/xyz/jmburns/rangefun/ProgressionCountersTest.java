@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static xyz.jmburns.rangefun.ProgressionEvent.Kind.ITERATION;
+import static xyz.jmburns.rangefun.ProgressionEvent.Kind.MATERIALIZATION;
+
+class ProgressionCountersTest {
+    private static final int LARGE = 1_000_000;
+
+    @Test
+    void shouldCountOperationsByKind() {
+        ProgressionCounters counters = Progressions.progressionCounters();
+        Progressions.addMetrics(counters);
+        try {
+            Progression progression = new Progression(LARGE, 1, 1);
+
+            progression.toIntArray();
+            progression.toIntArray();
+            progression.forEachInt(i -> { });
+
+            assertEquals(2, counters.operationCount(MATERIALIZATION));
+            assertEquals(2L * LARGE, counters.integerCount(MATERIALIZATION));
+            assertEquals(1, counters.operationCount(ITERATION));
+            assertEquals(LARGE, counters.integerCount(ITERATION));
+            assertTrue(counters.totalNanos(MATERIALIZATION) >= 0);
+        } finally {
+            Progressions.removeMetrics(counters);
+        }
+    }
+
+    @Test
+    void shouldNotCountUntilRegistered() {
+        ProgressionCounters counters = Progressions.progressionCounters();
+
+        new Progression(LARGE, 1, 1).toIntArray();
+
+        assertEquals(0, counters.operationCount(MATERIALIZATION));
+    }
+
+    @Test
+    void resetShouldZeroEveryCounter() {
+        ProgressionCounters counters = Progressions.progressionCounters();
+        counters.record(new ProgressionEvent(ITERATION, "forEachInt", LARGE, 1, false, 42));
+
+        counters.reset();
+
+        assertEquals(0, counters.operationCount(ITERATION));
+        assertEquals(0, counters.integerCount(ITERATION));
+        assertEquals(0, counters.totalNanos(ITERATION));
+    }
+}
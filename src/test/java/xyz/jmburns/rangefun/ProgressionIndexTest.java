@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static xyz.jmburns.rangefun.Progressions.progression;
+import static xyz.jmburns.rangefun.Progressions.progressionSet;
+import static xyz.jmburns.rangefun.Progressions.range;
+
+class ProgressionIndexTest {
+    @Test
+    void shouldHoldProgressionsInNaturalOrder() throws IOException {
+        List<Progression> progressions = Arrays.asList(range(50, 60), progression(9, 0, 3), range(-4, 2));
+        Path file = Files.createTempFile("progressions", ".index");
+
+        try {
+            ProgressionIndex.write(file, progressions);
+            ProgressionIndex index = ProgressionIndex.open(file);
+
+            assertEquals(3, index.size());
+            assertEquals(range(-4, 2), index.get(0));
+            assertEquals(progression(9, 0, 3), index.get(1));
+            assertEquals(range(50, 60), index.get(2));
+            assertEquals(16 + (3 * 20), Files.size(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void indexOfShouldBinarySearchInPlace() throws IOException {
+        List<Progression> progressions = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            progressions.add(progression(i * 10, i * 10 + 7, (i % 3) + 1));
+        }
+        Collections.shuffle(progressions);
+        Path file = Files.createTempFile("progressions", ".index");
+
+        try {
+            ProgressionIndex.write(file, progressions);
+            ProgressionIndex index = ProgressionIndex.open(file);
+
+            assertEquals(500, index.indexOf(progression(5_000, 5_007, 3)));
+            assertEquals(-1, index.indexOf(progression(5_000, 5_007, 2)));
+            assertEquals(-1, index.indexOf(progression(5_007, 5_000, 3)));
+            assertTrue(index.contains(progression(9_990, 9_997, 1)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void findContainingShouldMatchSetMembership() throws IOException {
+        ProgressionSet set = progressionSet(range(0, 9), progression(100, 200, 10), range(-50, -40));
+        Path file = Files.createTempFile("progressions", ".index");
+
+        try {
+            ProgressionIndex.write(file, set);
+            ProgressionIndex index = ProgressionIndex.open(file);
+
+            for (int integer = -60; integer <= 210; integer++) {
+                assertEquals(set.contains(integer), index.findContaining(integer).isPresent(), "for " + integer);
+            }
+            assertEquals(Optional.of(progression(100, 200, 10)), index.findContaining(150));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void findContainingShouldMatchMembershipOfInterleavedSet() throws IOException {
+        ProgressionSet set = progressionSet(range(0, 999));
+        set.remove(progression(0, 999, 3));
+        set.add(progression(2_000, 2_100, 10));
+        Path file = Files.createTempFile("progressions", ".index");
+
+        try {
+            ProgressionIndex.write(file, set);
+            ProgressionIndex index = ProgressionIndex.open(file);
+
+            for (int integer = -10; integer <= 2_110; integer++) {
+                assertEquals(set.contains(integer), index.findContaining(integer).isPresent(), "for " + integer);
+            }
+            assertEquals(Optional.of(progression(1, 997, 3)), index.findContaining(4));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void findContainingShouldLookPastLaterOverlappingProgressions() throws IOException {
+        List<Progression> progressions = Arrays.asList(range(0, 100), range(10, 20), progression(30, 40, 5));
+        Path file = Files.createTempFile("progressions", ".index");
+
+        try {
+            ProgressionIndex.write(file, progressions);
+            ProgressionIndex index = ProgressionIndex.open(file);
+
+            assertEquals(Optional.of(range(0, 100)), index.findContaining(50));
+            assertEquals(Optional.of(range(0, 100)), index.findContaining(31));
+            assertEquals(Optional.of(progression(30, 40, 5)), index.findContaining(35));
+            assertEquals(Optional.empty(), index.findContaining(101));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void shouldWriteIndicesLargerThanTheWriteBuffer() throws IOException {
+        List<Progression> progressions = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            progressions.add(range(i * 3, i * 3 + 1));
+        }
+        Path file = Files.createTempFile("progressions", ".index");
+
+        try {
+            ProgressionIndex.write(file, progressions);
+            ProgressionIndex index = ProgressionIndex.open(file);
+
+            assertEquals(10_000, index.size());
+            assertEquals(range(29_997, 29_998), index.get(9_999));
+            assertEquals(Optional.of(range(15_000, 15_001)), index.findContaining(15_001));
+            assertEquals(Optional.empty(), index.findContaining(15_002));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void emptyIndexShouldFindNothing() throws IOException {
+        Path file = Files.createTempFile("progressions", ".index");
+
+        try {
+            ProgressionIndex.write(file, Collections.emptyList());
+            ProgressionIndex index = ProgressionIndex.open(file);
+
+            assertEquals(0, index.size());
+            assertEquals(Optional.empty(), index.findContaining(0));
+            assertEquals(-1, index.indexOf(range(0, 1)));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void shouldRejectFilesThatAreNotIndices() throws IOException {
+        Path file = Files.createTempFile("progressions", ".index");
+
+        try {
+            Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, });
+
+            assertThrows(IOException.class, () -> ProgressionIndex.open(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void shouldRejectTruncatedIndex() throws IOException {
+        Path file = Files.createTempFile("progressions", ".index");
+
+        try {
+            ProgressionIndex.write(file, Arrays.asList(range(0, 1), range(5, 6)));
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+            assertThrows(IOException.class, () -> ProgressionIndex.open(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
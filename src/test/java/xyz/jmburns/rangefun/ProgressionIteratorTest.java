@@ -23,6 +23,7 @@ package xyz.jmburns.rangefun;
 import org.junit.jupiter.api.Test;
 
 import java.util.Iterator;
+import java.util.PrimitiveIterator;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static xyz.jmburns.rangefun.ProgressionTestHelper.iteratorReturnsOnlyExpectedIntegers;
@@ -121,4 +122,60 @@ class ProgressionIteratorTest {
 
         assertNotEquals(hash1, hash2);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnCorrectPrimitiveIntegers() {
+        PrimitiveIterator.OfInt iterator = ProgressionIterator.ascending(2, 8, 3);
+
+        int first = iterator.nextInt();
+        int second = iterator.nextInt();
+        int third = iterator.nextInt();
+
+        assertEquals(2, first);
+        assertEquals(5, second);
+        assertEquals(8, third);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void forEachRemainingShouldVisitOnlyRemainingIntegers() {
+        int[] expected = { 8, 6, 4, };
+        PrimitiveIterator.OfInt iterator = ProgressionIterator.descending(10, 3, 2);
+        int[] actual = new int[expected.length];
+        int[] index = { 0 };
+
+        iterator.nextInt();
+        iterator.forEachRemaining((int integer) -> actual[index[0]++] = integer);
+
+        assertArrayEquals(expected, actual);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void ascendingIteratorShouldStopAtMaximumInteger() {
+        int[] expectedIntegers = { Integer.MAX_VALUE - 2, Integer.MAX_VALUE - 1, Integer.MAX_VALUE, };
+        Iterator<Integer> iterator = ProgressionIterator.ascending(Integer.MAX_VALUE - 2, Integer.MAX_VALUE, 1);
+
+        assertTrue(iteratorReturnsOnlyExpectedIntegers(iterator, expectedIntegers));
+    }
+
+    @Test
+    void descendingIteratorShouldStopAtMinimumInteger() {
+        int[] expectedIntegers = { Integer.MIN_VALUE + 6, Integer.MIN_VALUE + 3, Integer.MIN_VALUE, };
+        Iterator<Integer> iterator = ProgressionIterator.descending(Integer.MIN_VALUE + 6, Integer.MIN_VALUE, 3);
+
+        assertTrue(iteratorReturnsOnlyExpectedIntegers(iterator, expectedIntegers));
+    }
+
+    @Test
+    void iteratorShouldCoverEntireIntegerRange() {
+        PrimitiveIterator.OfInt iterator = ProgressionIterator.ascending(Integer.MIN_VALUE, Integer.MAX_VALUE, 1 << 30);
+        int[] expected = { Integer.MIN_VALUE, -(1 << 30), 0, 1 << 30, };
+        int[] actual = new int[expected.length];
+        int[] index = { 0 };
+
+        iterator.forEachRemaining((int integer) -> actual[index[0]++] = integer);
+
+        assertArrayEquals(expected, actual);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProgressionMonitorTest {
+    private static final int LARGE = 1_000_000;
+
+    @Test
+    void shouldRecordLargeMaterializations() {
+        List<ProgressionEvent> events = new ArrayList<>();
+        ProgressionMetrics metrics = events::add;
+        Progression progression = new Progression(LARGE, 1, 1);
+
+        Progressions.addMetrics(metrics);
+        try {
+            progression.toIntArray();
+            progression.toArray();
+        } finally {
+            Progressions.removeMetrics(metrics);
+        }
+
+        assertEquals(2, events.size());
+        assertEquals(ProgressionEvent.Kind.MATERIALIZATION, events.get(0).kind());
+        assertEquals("toIntArray", events.get(0).operation());
+        assertEquals("toArray", events.get(1).operation());
+        assertEquals(LARGE, events.get(0).length());
+        assertEquals(1, events.get(0).step());
+        assertTrue(events.get(0).isBackwards());
+        assertTrue(events.get(0).durationNanos() >= 0);
+    }
+
+    @Test
+    void shouldRecordLargeIterationsOnceTheyFinish() {
+        List<ProgressionEvent> events = new ArrayList<>();
+        ProgressionMetrics metrics = events::add;
+        Progression progression = new Progression(0, 2 * LARGE - 1, 2);
+
+        Progressions.addMetrics(metrics);
+        try {
+            progression.forEachInt(i -> { });
+
+            PrimitiveIterator.OfInt iterator = progression.iterator();
+            while (iterator.hasNext()) {
+                iterator.nextInt();
+                if (iterator.hasNext()) { assertEquals(1, events.size()); }
+            }
+            iterator.hasNext();
+
+            progression.iterator().forEachRemaining((int i) -> { });
+        } finally {
+            Progressions.removeMetrics(metrics);
+        }
+
+        assertEquals(3, events.size());
+        assertEquals(ProgressionEvent.Kind.ITERATION, events.get(0).kind());
+        assertEquals("forEachInt", events.get(0).operation());
+        assertEquals("iterator", events.get(1).operation());
+        assertEquals("iterator", events.get(2).operation());
+        assertEquals(LARGE, events.get(1).length());
+        assertEquals(2, events.get(1).step());
+        assertFalse(events.get(1).isBackwards());
+    }
+
+    @Test
+    void shouldNotRecordSmallProgressions() {
+        List<ProgressionEvent> events = new ArrayList<>();
+        ProgressionMetrics metrics = events::add;
+        Progression progression = new Progression(1, LARGE - 1, 1);
+
+        Progressions.addMetrics(metrics);
+        try {
+            progression.toIntArray();
+            progression.forEachInt(i -> { });
+            progression.iterator().forEachRemaining((int i) -> { });
+        } finally {
+            Progressions.removeMetrics(metrics);
+        }
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreExceptionsThrownByMetrics() {
+        ProgressionMetrics metrics = event -> { throw new IllegalStateException(); };
+        Progression progression = new Progression(1, LARGE, 1);
+
+        Progressions.addMetrics(metrics);
+        int[] array;
+        try {
+            array = progression.toIntArray();
+        } finally {
+            Progressions.removeMetrics(metrics);
+        }
+
+        assertEquals(LARGE, array[LARGE - 1]);
+    }
+
+    @Test
+    void shouldRemoveOnlyRegisteredMetrics() {
+        ProgressionMetrics metrics = event -> { };
+
+        Progressions.addMetrics(metrics);
+
+        assertTrue(Progressions.removeMetrics(metrics));
+        assertFalse(Progressions.removeMetrics(metrics));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static xyz.jmburns.rangefun.Progressions.progression;
+import static xyz.jmburns.rangefun.Progressions.progressionND;
+import static xyz.jmburns.rangefun.Progressions.range;
+
+class ProgressionNDTest {
+    @Test
+    void shouldVisitPointsInRowMajorOrder() {
+        ProgressionND grid = progressionND(range(0, 1), progression(4, 0, 2), range(7, 7));
+        List<String> visited = new ArrayList<>();
+
+        grid.forEach((int[] point) -> visited.add(Arrays.toString(point)));
+
+        assertEquals(Arrays.asList(
+                "[0, 4, 7]", "[0, 2, 7]", "[0, 0, 7]",
+                "[1, 4, 7]", "[1, 2, 7]", "[1, 0, 7]"
+        ), visited);
+        assertEquals(6, grid.size());
+    }
+
+    @Test
+    void getShouldBeInverseOfIndexOf() {
+        ProgressionND grid = progressionND(range(-2, 2), progression(0, 20, 5), range(3, 1));
+
+        for (long index = 0; index < grid.size(); index++) {
+            int[] point = grid.get(index);
+
+            assertEquals(index, grid.indexOf(point));
+        }
+    }
+
+    @Test
+    void indexOfShouldReturnNegativeOneForMissingPoint() {
+        ProgressionND grid = progressionND(range(0, 3), progression(0, 9, 3));
+
+        long index = grid.indexOf(2, 4);
+
+        assertEquals(-1, index);
+        assertFalse(grid.contains(2, 4));
+        assertTrue(grid.contains(2, 3));
+    }
+
+    @Test
+    void shouldThrowExceptionForWrongNumberOfCoordinates() {
+        ProgressionND grid = progressionND(range(0, 3), range(0, 3));
+
+        assertThrows(IllegalArgumentException.class, () -> grid.indexOf(1, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> grid.get(0, new int[1]));
+    }
+
+    @Test
+    void shouldThrowExceptionForOutOfBoundsIndex() {
+        ProgressionND grid = progressionND(range(0, 3), range(0, 3));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.get(16));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.get(-1));
+    }
+
+    @Test
+    void shouldHandleDimensionsLongerThanMaximumInteger() {
+        ProgressionND grid = progressionND(range(0, 2), range(Integer.MIN_VALUE, Integer.MAX_VALUE));
+
+        int[] point = grid.get(grid.size() - 1);
+
+        assertEquals(3L << 32, grid.size());
+        assertArrayEquals(new int[] { 2, Integer.MAX_VALUE, }, point);
+        assertEquals((2L << 32) + 1, grid.indexOf(2, Integer.MIN_VALUE + 1));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenSizeOverflows() {
+        Progression full = range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> progressionND(full, full));
+    }
+
+    @Test
+    void partitionShouldCoverGridInOrder() {
+        ProgressionND grid = progressionND(range(0, 6), range(0, 2));
+
+        List<ProgressionND> blocks = grid.partition(3);
+        List<String> visited = new ArrayList<>();
+        blocks.forEach(block -> block.forEach((int[] point) -> visited.add(Arrays.toString(point))));
+        List<String> expected = new ArrayList<>();
+        grid.forEach((int[] point) -> expected.add(Arrays.toString(point)));
+
+        assertEquals(3, blocks.size());
+        assertEquals(expected, visited);
+        assertEquals(21, blocks.stream().mapToLong(ProgressionND::size).sum());
+    }
+
+    @Test
+    void indicesShouldCoverGridInOrder() {
+        ProgressionND grid = progressionND(range(0, 3), progression(6, 0, 3));
+        List<String> expected = new ArrayList<>();
+        grid.forEach((int[] point) -> expected.add(Arrays.toString(point)));
+        int[] cursor = new int[2];
+
+        List<String> visited = grid.indices()
+                .mapToObj(index -> Arrays.toString(grid.get(index, cursor)))
+                .collect(Collectors.toList());
+
+        assertEquals(expected, visited);
+        assertEquals(grid.size(), grid.indices().parallel().count());
+    }
+
+    @Test
+    void forEachParallelShouldVisitEveryPointOnce() {
+        ProgressionND grid = progressionND(range(0, 99), range(0, 99), range(0, 9));
+        LongAdder sum = new LongAdder();
+        LongAdder count = new LongAdder();
+
+        grid.forEachParallel((int[] point) -> {
+            sum.add(point[0] + point[1] + point[2]);
+            count.increment();
+        });
+
+        assertEquals(100 * 10 * 4950 * 2 + 100 * 100 * 45, sum.sum());
+        assertEquals(grid.size(), count.sum());
+    }
+
+    @Test
+    void equivalentInstancesShouldBeEqual() {
+        ProgressionND grid1 = progressionND(range(0, 3), progression(9, 0, 3));
+        ProgressionND grid2 = progressionND(range(0, 3), progression(9, 0, 3));
+
+        assertEquals(grid1, grid2);
+        assertEquals(grid1.hashCode(), grid2.hashCode());
+        assertNotEquals(grid1, progressionND(progression(9, 0, 3), range(0, 3)));
+    }
+
+    @Test
+    void shouldThrowExceptionForNoDimensions() {
+        assertThrows(IllegalArgumentException.class, Progressions::progressionND);
+    }
+}
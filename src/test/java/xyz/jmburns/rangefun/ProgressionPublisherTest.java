@@ -0,0 +1,285 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressionPublisherTest {
+    @Test
+    void shouldEmitExactlyAsManyIntegersAsRequested() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        new Progression(1, 10, 1).asPublisher().subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+
+        assertEquals(Arrays.asList(1, 2, 3), subscriber.received);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(7);
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), subscriber.received);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void shouldEmitBackwardsProgressionsInIterationOrder() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+
+        new Progression(9, 0, 3).asPublisher().subscribe(subscriber);
+
+        assertEquals(Arrays.asList(9, 6, 3, 0), subscriber.received);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void shouldCompleteAlongsideTheLastInteger() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+
+        new Progression(5, 5, 1).asPublisher().subscribe(subscriber);
+
+        assertEquals(Arrays.asList(5), subscriber.received);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void shouldNotRecurseWhenRequestingFromOnNext() {
+        int length = 100_000;
+        int[] count = new int[1];
+        Flow.Subscriber<Integer> subscriber = new Flow.Subscriber<Integer>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                count[0]++;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        };
+
+        new Progression(1, length, 1).asPublisher().subscribe(subscriber);
+
+        assertEquals(length, count[0]);
+    }
+
+    @Test
+    void shouldEmitBatchesToProgressionSubscribers() {
+        BatchSubscriber subscriber = new BatchSubscriber();
+        new Progression(0, 99, 3).asPublisher().subscribe(subscriber);
+
+        subscriber.subscription.request(5);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(2, subscriber.batches.size());
+        assertEquals(new Progression(0, 12, 3), subscriber.batches.get(0));
+        assertEquals(new Progression(15, 99, 3), subscriber.batches.get(1));
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void shouldEmitBackwardsBatchesInIterationOrder() {
+        BatchSubscriber subscriber = new BatchSubscriber();
+        new Progression(10, 1, 1).asPublisher().subscribe(subscriber);
+
+        subscriber.subscription.request(4);
+
+        assertEquals(new Progression(10, 7, 1), subscriber.batches.get(0));
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void shouldStopEmittingOnceCancelled() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0) {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (item == 3) { subscription.cancel(); }
+            }
+        };
+        new Progression(1, 10, 1).asPublisher().subscribe(subscriber);
+
+        subscriber.subscription.request(10);
+        subscriber.subscription.request(10);
+
+        assertEquals(Arrays.asList(1, 2, 3), subscriber.received);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void shouldSignalErrorForNonPositiveRequest() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        new Progression(1, 10, 1).asPublisher().subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+        subscriber.subscription.request(10);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(subscriber.received.isEmpty());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void shouldSignalErrorWhenSubscriberThrows() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE) {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                throw new IllegalStateException();
+            }
+        };
+
+        new Progression(1, 10, 1).asPublisher().subscribe(subscriber);
+
+        assertEquals(Arrays.asList(1), subscriber.received);
+        assertTrue(subscriber.error instanceof IllegalStateException);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void shouldEmitOnTheGivenExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch done = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            RecordingSubscriber subscriber = new RecordingSubscriber(2) {
+                @Override
+                public void onNext(Integer item) {
+                    super.onNext(item);
+                    threads.add(Thread.currentThread());
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onComplete() {
+                    super.onComplete();
+                    done.countDown();
+                }
+            };
+
+            new Progression(1, 1000, 1).asPublisher(executor).subscribe(subscriber);
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(1000, subscriber.received.size());
+            assertEquals(new Progression(1, 1000, 1).stream().boxed().collect(Collectors.toList()),
+                         subscriber.received);
+            assertFalse(threads.contains(Thread.currentThread()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldSignalErrorWhenExecutorRejects() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+
+        new Progression(1, 10, 1).asPublisher(executor).subscribe(subscriber);
+
+        assertNotNull(subscriber.subscription);
+        assertTrue(subscriber.error instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void shouldThrowExceptionForNullSubscriberOrExecutor() {
+        Progression progression = new Progression(1, 10, 1);
+
+        assertThrows(NullPointerException.class, () -> progression.asPublisher().subscribe(null));
+        assertThrows(NullPointerException.class, () -> progression.asPublisher(null));
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<Integer> {
+        private final long initialRequest;
+        final List<Integer> received = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) { subscription.request(initialRequest); }
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    private static class BatchSubscriber extends RecordingSubscriber implements ProgressionSubscriber {
+        final List<Progression> batches = new ArrayList<>();
+
+        BatchSubscriber() {
+            super(0);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            fail("integers should only be sent in batches");
+        }
+
+        @Override
+        public void onNextBatch(Progression batch) {
+            batches.add(batch);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static xyz.jmburns.rangefun.Progressions.progression;
+import static xyz.jmburns.rangefun.Progressions.progressionSet;
+import static xyz.jmburns.rangefun.Progressions.range;
+
+class ProgressionSetTest {
+    @Test
+    void shouldContainIntegersOfEveryRun() {
+        ProgressionSet set = progressionSet(range(0, 9), progression(100, 200, 10));
+
+        assertTrue(set.contains(5));
+        assertTrue(set.contains(150));
+        assertFalse(set.contains(155));
+        assertFalse(set.contains(50));
+    }
+
+    @Test
+    void shouldIterateInAscendingOrder() {
+        int[] expected = { 1, 2, 3, 10, 13, 16, };
+        ProgressionSet set = progressionSet(progression(16, 10, 3), range(3, 1));
+
+        int[] actual = set.stream().toArray();
+
+        assertArrayEquals(expected, actual);
+        assertTrue(ProgressionTestHelper.iteratorReturnsOnlyExpectedIntegers(set.iterator(), expected));
+    }
+
+    @Test
+    void forEachIntShouldVisitIntegersInAscendingOrder() {
+        int[] expected = { 1, 2, 3, 10, 13, 16, };
+        ProgressionSet set = progressionSet(progression(16, 10, 3), range(3, 1));
+        int[] actual = new int[expected.length];
+        int[] index = { 0 };
+
+        set.forEachInt(integer -> actual[index[0]++] = integer);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void sizeShouldCountIntegersRatherThanRuns() {
+        ProgressionSet set = progressionSet(range(0, 999_999), progression(2_000_000, 3_999_998, 2));
+
+        assertEquals(2_000_000, set.size());
+        assertEquals(2, set.runs().size());
+    }
+
+    @Test
+    void overlappingProgressionsShouldBeCountedOnce() {
+        ProgressionSet set = progressionSet(range(0, 10), range(5, 15));
+
+        assertEquals(16, set.size());
+        assertEquals(1, set.runs().size());
+    }
+
+    @Test
+    void interleavedProgressionsShouldMergeIntoSingleRun() {
+        ProgressionSet set = progressionSet(progression(0, 1_000_000, 2), progression(1, 999_999, 2));
+
+        assertEquals(1, set.runs().size());
+        assertEquals(range(0, 1_000_000), set.runs().get(0));
+    }
+
+    @Test
+    void addingAdjacentIntegerShouldExtendRun() {
+        ProgressionSet set = progressionSet(range(0, 9));
+
+        boolean changed = set.add(10);
+
+        assertTrue(changed);
+        assertEquals(1, set.runs().size());
+        assertEquals(11, set.size());
+    }
+
+    @Test
+    void addingContainedIntegerShouldNotChangeSet() {
+        ProgressionSet set = progressionSet(progression(0, 20, 4));
+
+        boolean changed = set.add(8);
+
+        assertFalse(changed);
+        assertEquals(6, set.size());
+    }
+
+    @Test
+    void addingIntegerInsideSparseRunShouldSplitIt() {
+        ProgressionSet set = progressionSet();
+        set.add(0);
+        set.add(100);
+
+        boolean changed = set.add(30);
+
+        assertTrue(changed);
+        assertEquals(Arrays.asList(progression(0, 30, 30), range(100, 100)), set.runs());
+    }
+
+    @Test
+    void scatteredIntegersShouldNotLeaveInterleavedRuns() {
+        Random random = new Random(7);
+        ProgressionSet set = progressionSet();
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int operation = 0; operation < 10_000; operation++) {
+            int integer = random.nextInt(1 << 20) * 2;
+            assertEquals(expected.add(integer), set.add(integer));
+        }
+
+        List<Progression> runs = set.runs();
+        for (int index = 1; index < runs.size(); index++) {
+            assertTrue(runs.get(index - 1).max() < runs.get(index).min(), "at run " + index);
+        }
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), set.stream().toArray());
+    }
+
+    @Test
+    void removingIntegerShouldSplitRun() {
+        int[] expected = { 0, 1, 2, 4, 5, };
+        ProgressionSet set = progressionSet(range(0, 5));
+
+        boolean changed = set.remove(3);
+
+        assertTrue(changed);
+        assertArrayEquals(expected, set.stream().toArray());
+        assertEquals(2, set.runs().size());
+    }
+
+    @Test
+    void removingEveryOtherIntegerShouldLeaveSingleRun() {
+        ProgressionSet set = progressionSet(range(0, 100));
+
+        set.remove(progression(1, 99, 2));
+
+        assertEquals(1, set.runs().size());
+        assertEquals(progression(0, 100, 2), set.runs().get(0));
+    }
+
+    @Test
+    void removingEveryThirdIntegerShouldLeaveInterleavedRuns() {
+        ProgressionSet set = progressionSet(range(0, 1_000_000_000));
+
+        boolean changed = set.remove(progression(0, 1_000_000_000, 3));
+
+        assertTrue(changed);
+        assertEquals(666_666_667, set.size());
+        assertEquals(3, set.runs().size());
+        assertTrue(set.contains(999_999_998));
+        assertTrue(set.contains(1_000_000_000));
+        assertFalse(set.contains(999_999_999));
+        assertArrayEquals(new int[] { 1, 2, 4, 5, 7, }, set.stream().limit(5).toArray());
+    }
+
+    @Test
+    void removingSparseIntegersShouldLeaveOneRunPerGap() {
+        int[] expected = IntStream.rangeClosed(1, 99).filter(integer -> integer != 50).toArray();
+        ProgressionSet set = progressionSet(range(0, 100));
+
+        set.remove(progression(0, 100, 50));
+
+        assertEquals(2, set.runs().size());
+        assertArrayEquals(expected, set.stream().toArray());
+    }
+
+    @Test
+    void interleavedRunsShouldBehaveLikeTheirIntegers() {
+        ProgressionSet set = progressionSet(range(0, 30));
+        set.remove(progression(0, 30, 3));
+        int[] expected = IntStream.rangeClosed(0, 30).filter(integer -> integer % 3 != 0).toArray();
+        int[] actual = new int[expected.length];
+        int[] index = { 0 };
+
+        set.forEachInt(integer -> actual[index[0]++] = integer);
+
+        assertArrayEquals(expected, actual);
+        assertTrue(ProgressionTestHelper.iteratorReturnsOnlyExpectedIntegers(set.iterator(), expected));
+        assertEquals(IntStream.of(expected).sum(), set.hashCode());
+        assertEquals(progressionSet(range(0, 30)), set.union(progressionSet(progression(0, 30, 3))));
+        assertTrue(set.intersection(progressionSet(progression(0, 30, 3))).isEmpty());
+    }
+
+    @Test
+    void shouldMatchSortedSetUnderRandomOperations() {
+        Random random = new Random(42);
+        ProgressionSet set = progressionSet();
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int operation = 0; operation < 2_000; operation++) {
+            int start = random.nextInt(200) - 100;
+            int end = start + random.nextInt(100);
+            int step = 1 + random.nextInt(7);
+            Progression progression = random.nextBoolean()
+                    ? progression(start, end, step)
+                    : progression(end, start, step);
+            List<Integer> integers = progression.stream().boxed().collect(Collectors.toList());
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.removeAll(integers), set.remove(progression));
+            } else {
+                assertEquals(expected.addAll(integers), set.add(progression));
+            }
+
+            assertEquals(expected.size(), set.size());
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), set.stream().toArray());
+            for (int integer = -110; integer <= 210; integer++) {
+                assertEquals(expected.contains(integer), set.contains(integer));
+            }
+        }
+    }
+
+    @Test
+    void removingAbsentIntegerShouldNotChangeSet() {
+        ProgressionSet set = progressionSet(progression(0, 20, 4));
+
+        boolean changed = set.remove(9);
+
+        assertFalse(changed);
+        assertEquals(6, set.size());
+    }
+
+    @Test
+    void shouldCalculateUnion() {
+        int[] expected = { 0, 1, 2, 3, 4, 6, 8, 10, };
+        ProgressionSet set1 = progressionSet(range(0, 3));
+        ProgressionSet set2 = progressionSet(progression(2, 10, 2));
+
+        ProgressionSet union = set1.union(set2);
+
+        assertArrayEquals(expected, union.stream().toArray());
+    }
+
+    @Test
+    void shouldCalculateIntersection() {
+        int[] expected = { 0, 12, 24, 100, 102, };
+        ProgressionSet set1 = progressionSet(progression(0, 30, 4), range(100, 102));
+        ProgressionSet set2 = progressionSet(progression(0, 30, 6), progression(90, 110, 2));
+
+        ProgressionSet intersection = set1.intersection(set2);
+
+        assertArrayEquals(expected, intersection.stream().toArray());
+    }
+
+    @Test
+    void disjointSetsShouldHaveEmptyIntersection() {
+        ProgressionSet set1 = progressionSet(progression(0, 30, 2));
+        ProgressionSet set2 = progressionSet(progression(1, 31, 2));
+
+        ProgressionSet intersection = set1.intersection(set2);
+
+        assertTrue(intersection.isEmpty());
+        assertEquals(0, intersection.size());
+    }
+
+    @Test
+    void setsWithSameIntegersInDifferentRunsShouldBeEqual() {
+        ProgressionSet set1 = progressionSet(range(0, 5));
+        ProgressionSet set2 = progressionSet(range(0, 2), range(3, 5));
+        set2.remove(3);
+        set2.add(3);
+
+        assertEquals(set1, set2);
+        assertEquals(set1.hashCode(), set2.hashCode());
+    }
+
+    @Test
+    void hashCodeShouldMatchSumOfIntegers() {
+        ProgressionSet set = progressionSet(progression(-7, 1_000, 3), range(2_000, 2_010));
+        int expected = set.stream().sum();
+
+        assertEquals(expected, set.hashCode());
+    }
+
+    @Test
+    void setsWithDifferentIntegersShouldBeUnequal() {
+        ProgressionSet set1 = progressionSet(range(0, 5));
+        ProgressionSet set2 = progressionSet(range(1, 6));
+
+        assertNotEquals(set1, set2);
+    }
+}
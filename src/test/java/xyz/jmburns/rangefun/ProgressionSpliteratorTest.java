@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Jacques Burns
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the
+ * Software, and to permit persons to whom the Software is furnished to do so, subject
+ * to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package xyz.jmburns.rangefun;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressionSpliteratorTest {
+    @Test
+    void shouldReportExactSize() {
+        Spliterator.OfInt spliterator = new Progression(1, 25, 5).spliterator();
+
+        assertEquals(5, spliterator.getExactSizeIfKnown());
+    }
+
+    @Test
+    void shouldReportAllCharacteristics() {
+        int expected = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED |
+                       Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.IMMUTABLE |
+                       Spliterator.NONNULL;
+        Spliterator.OfInt spliterator = new Progression(0, 10, 1).spliterator();
+
+        assertEquals(expected, spliterator.characteristics());
+    }
+
+    @Test
+    void ascendingProgressionShouldBeSortedInNaturalOrder() {
+        Spliterator.OfInt spliterator = new Progression(0, 10, 1).spliterator();
+
+        assertNull(spliterator.getComparator());
+    }
+
+    @Test
+    void descendingProgressionShouldBeSortedInReverseOrder() {
+        Spliterator.OfInt spliterator = new Progression(10, 0, 1).spliterator();
+
+        assertEquals(Comparator.reverseOrder(), spliterator.getComparator());
+    }
+
+    @Test
+    void shouldSplitIntoHalvesInIterationOrder() {
+        Spliterator.OfInt suffix = new Progression(20, 2, 3).spliterator();
+
+        Spliterator.OfInt prefix = suffix.trySplit();
+
+        assertEquals(3, prefix.estimateSize());
+        assertEquals(4, suffix.estimateSize());
+        assertArrayEquals(new int[] { 20, 17, 14, }, drain(prefix));
+        assertArrayEquals(new int[] { 11, 8, 5, 2, }, drain(suffix));
+    }
+
+    @Test
+    void singleElementSpliteratorShouldNotSplit() {
+        Spliterator.OfInt spliterator = new Progression(4, 4, 1).spliterator();
+
+        assertNull(spliterator.trySplit());
+    }
+
+    @Test
+    void tryAdvanceShouldVisitOneIntegerAtATime() {
+        Spliterator.OfInt spliterator = new Progression(3, 5, 2).spliterator();
+        int[] actual = new int[2];
+
+        boolean first = spliterator.tryAdvance((int integer) -> actual[0] = integer);
+        boolean second = spliterator.tryAdvance((int integer) -> actual[1] = integer);
+        boolean third = spliterator.tryAdvance((int integer) -> fail("progression should be exhausted"));
+
+        assertTrue(first && second && !third);
+        assertArrayEquals(new int[] { 3, 5, }, actual);
+        assertEquals(0, spliterator.estimateSize());
+    }
+
+    private static int[] drain(Spliterator.OfInt spliterator) {
+        int[] integers = new int[(int) spliterator.estimateSize()];
+        int[] index = { 0 };
+        spliterator.forEachRemaining((int integer) -> integers[index[0]++] = integer);
+        return integers;
+    }
+}
@@ -20,9 +20,39 @@
  */
 package xyz.jmburns.rangefun;
 
+import com.sun.management.ThreadMXBean;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static xyz.jmburns.rangefun.ProgressionTestHelper.progressionReturnsOnlyExpectedIntegers;
 
 class ProgressionTest {
@@ -118,6 +148,15 @@ class ProgressionTest {
         assertTrue(progressionReturnsOnlyExpectedIntegers(reversed, expected));
     }
 
+    @Test
+    void reversingTwiceShouldRestoreProgression() {
+        Progression initial = new Progression(7, 2, 1);
+
+        Progression reversed = initial.reverse().reverse();
+
+        assertEquals(initial, reversed);
+    }
+
     @Test
     void shouldCalculateCorrectLength() {
         Progression progression = new Progression(0, 30, 5);
@@ -148,6 +187,45 @@ class ProgressionTest {
         assertArrayEquals(expected, actual);
     }
 
+    @Test
+    void shouldCreateCorrectPrimitiveArrayRepresentation() {
+        int[] expected = { 21, 16, 11, 6, 1, };
+        Progression progression = new Progression(21, 0, 5);
+
+        int[] actual = progression.toIntArray();
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void shouldWritePrimitiveArrayRepresentationAtOffset() {
+        int[] expected = { -1, -1, 1, 2, 3, -1, };
+        int[] destination = { -1, -1, -1, -1, -1, -1, };
+        Progression progression = new Progression(1, 3, 1);
+
+        int[] actual = progression.toIntArray(destination, 2);
+
+        assertSame(destination, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void shouldThrowExceptionForTooSmallDestination() {
+        int[] expected = { -1, -1, -1, -1, };
+        int[] destination = { -1, -1, -1, -1, };
+        Progression progression = new Progression(1, 3, 1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> progression.toIntArray(destination, 2));
+        assertArrayEquals(expected, destination);
+    }
+
+    @Test
+    void shouldThrowExceptionForNegativeOffset() {
+        Progression progression = new Progression(1, 3, 1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> progression.toIntArray(new int[10], -1));
+    }
+
     @Test
     void equivalentInstancesShouldBeEqual() {
         Progression progression1 = new Progression(0, 10, 5);
@@ -179,4 +257,890 @@ class ProgressionTest {
 
         assertNotEquals(progression1.hashCode(), progression2.hashCode());
     }
+
+    @Test
+    void forEachIntShouldVisitIntegersInIterationOrder() {
+        int[] expected = { 9, 6, 3, 0, };
+        Progression progression = new Progression(9, 0, 3);
+        int[] actual = new int[expected.length];
+        int[] index = { 0 };
+
+        progression.forEachInt(integer -> actual[index[0]++] = integer);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void forEachShouldAcceptUntypedLambdasAndMethodReferences() {
+        List<Integer> expected = Arrays.asList(1, 2, 3);
+        Progression progression = new Progression(1, 3, 1);
+        List<Integer> fromLambda = new ArrayList<>();
+        List<Integer> fromReference = new ArrayList<>();
+
+        progression.forEach(integer -> fromLambda.add(integer));
+        progression.forEach(fromReference::add);
+
+        assertEquals(expected, fromLambda);
+        assertEquals(expected, fromReference);
+    }
+
+    @Test
+    void primitiveIterationShouldNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        long threadId = Thread.currentThread().getId();
+        Progression progression = Progressions.count(10_000_000);
+        long[] sum = { 0 };
+        IntConsumer accumulator = integer -> sum[0] += integer;
+        PrimitiveIterator.OfInt iterator = progression.iterator();
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        progression.forEachInt(accumulator);
+        while (iterator.hasNext()) {
+            sum[0] -= iterator.nextInt();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // the measurement itself allocates a few bytes; boxing would allocate ~160MB here
+        assertEquals(0, sum[0]);
+        assertTrue(allocated < 4096, "allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void streamShouldProduceIntegersInIterationOrder() {
+        int[] expected = { 12, 8, 4, 0, };
+        Progression progression = new Progression(12, 0, 4);
+
+        int[] actual = progression.stream().toArray();
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void parallelStreamShouldProduceSameIntegersAsSequentialStream() {
+        Progression progression = new Progression(-1_000, 1_000_000, 7);
+
+        long sequentialSum = progression.stream().asLongStream().sum();
+        long parallelSum = progression.parallelStream().asLongStream().sum();
+
+        assertEquals(sequentialSum, parallelSum);
+        assertTrue(progression.parallelStream().isParallel());
+    }
+
+    @Test
+    void progressionShouldNotContainIntegerOutOfBounds() {
+        Progression progression = new Progression(5, 7, 1);
+        assertFalse(progression.contains(4));
+    }
+
+    @Test
+    void reverseProgressionShouldOnlyContainIntegersOnItsStep() {
+        Progression progression = new Progression(6, 1, 2);
+
+        assertTrue(progression.contains(4));
+        assertFalse(progression.contains(3));
+    }
+
+    @Test
+    void shouldCalculateCorrectLengthAcrossEntireIntegerRange() {
+        Progression progression = new Progression(Integer.MIN_VALUE, Integer.MAX_VALUE, 3);
+        int expected = 1_431_655_766;
+
+        int length = progression.length();
+
+        assertEquals(expected, length);
+    }
+
+    @Test
+    void shouldHandleMinimumIntegerStep() {
+        Progression forwards = Progressions.progression(Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE);
+        Progression backwards = Progressions.progression(Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE);
+
+        assertArrayEquals(new int[] { Integer.MIN_VALUE, 0 }, forwards.toIntArray());
+        assertArrayEquals(new int[] { Integer.MAX_VALUE, -1 }, backwards.toIntArray());
+        assertTrue(progressionReturnsOnlyExpectedIntegers(forwards, new int[] { Integer.MIN_VALUE, 0 }));
+        assertEquals(2, forwards.length());
+        assertEquals(0, forwards.max());
+        assertEquals(1, forwards.indexOf(0));
+        assertEquals(OptionalInt.of(0), forwards.floor(Integer.MAX_VALUE));
+        assertEquals(OptionalInt.of(0), forwards.ceiling(1 - Integer.MAX_VALUE));
+        Progression intersection = forwards.intersect(Progressions.range(Integer.MIN_VALUE, 0)).get();
+        assertArrayEquals(forwards.toIntArray(), intersection.toIntArray());
+        assertEquals(Integer.MIN_VALUE, forwards.sum());
+        assertEquals(BigInteger.ONE.shiftLeft(62), forwards.sumOfSquaresAsBigInteger());
+    }
+
+    @Test
+    void shouldThrowExceptionForLengthTooLongForInteger() {
+        Progression progression = new Progression(Integer.MIN_VALUE, Integer.MAX_VALUE, 1);
+
+        assertThrows(ArithmeticException.class, progression::length);
+    }
+
+    @Test
+    void forEachIntShouldStopAtMaximumInteger() {
+        int[] expected = { Integer.MAX_VALUE - 4, Integer.MAX_VALUE - 2, Integer.MAX_VALUE, };
+        Progression progression = new Progression(Integer.MAX_VALUE - 4, Integer.MAX_VALUE, 2);
+        int[] actual = new int[expected.length];
+        int[] index = { 0 };
+
+        progression.forEachInt(integer -> actual[index[0]++] = integer);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void shouldIntersectProgressionsWithDifferentSteps() {
+        Progression progression1 = new Progression(0, 30, 4);
+        Progression progression2 = new Progression(2, 40, 6);
+
+        Optional<Progression> intersection = progression1.intersect(progression2);
+
+        assertEquals(Optional.of(new Progression(8, 20, 12)), intersection);
+    }
+
+    @Test
+    void intersectionShouldFollowDirectionOfFirstProgression() {
+        Progression progression1 = new Progression(29, 1, 2);
+        Progression progression2 = new Progression(0, 30, 3);
+
+        Optional<Progression> intersection = progression1.intersect(progression2);
+
+        assertEquals(Optional.of(new Progression(27, 3, 6)), intersection);
+    }
+
+    @Test
+    void intersectionOfSingleCommonIntegerShouldBeSingletonRange() {
+        Progression progression1 = new Progression(0, 10, 5);
+        Progression progression2 = new Progression(3, 13, 7);
+
+        Optional<Progression> intersection = progression1.intersect(progression2);
+
+        assertEquals(Optional.of(new Progression(10, 10, 1)), intersection);
+    }
+
+    @Test
+    void progressionsWithIncompatibleStepsShouldNotIntersect() {
+        Progression evens = new Progression(0, 100, 2);
+        Progression odds = new Progression(1, 99, 4);
+
+        assertFalse(evens.intersect(odds).isPresent());
+        assertFalse(evens.overlaps(odds));
+    }
+
+    @Test
+    void disjointProgressionsShouldNotOverlap() {
+        Progression progression1 = new Progression(0, 10, 1);
+        Progression progression2 = new Progression(11, 20, 1);
+
+        assertFalse(progression1.intersect(progression2).isPresent());
+        assertFalse(progression1.overlaps(progression2));
+    }
+
+    @Test
+    void intersectionShouldMatchBruteForceResult() {
+        Progression progression1 = new Progression(-50, 500, 6);
+        Progression progression2 = new Progression(700, -17, 15);
+        int[] expected = progression1.stream().filter(progression2::contains).toArray();
+
+        int[] actual = progression1.intersect(progression2).map(Progression::toIntArray).orElse(new int[0]);
+
+        assertArrayEquals(expected, actual);
+        assertTrue(progression1.overlaps(progression2));
+    }
+
+    @Test
+    void shouldIntersectProgressionsAtIntegerExtremes() {
+        Progression progression1 = new Progression(Integer.MIN_VALUE, Integer.MAX_VALUE, 1 << 20);
+        Progression progression2 = new Progression(Integer.MAX_VALUE - (1 << 20) + 1, Integer.MIN_VALUE, 3 << 20);
+        long expectedLength = progression2.stream().filter(progression1::contains).count();
+
+        Optional<Progression> intersection = progression1.intersect(progression2);
+
+        assertTrue(intersection.isPresent());
+        assertEquals(expectedLength, intersection.get().length());
+        assertTrue(intersection.get().isSubsetOf(progression1));
+        assertTrue(intersection.get().isSubsetOf(progression2));
+    }
+
+    @Test
+    void progressionShouldBeSubsetOfCoarserProgression() {
+        Progression progression = new Progression(4, 16, 4);
+        Progression superset = new Progression(20, 0, 2);
+
+        assertTrue(progression.isSubsetOf(superset));
+        assertFalse(superset.isSubsetOf(progression));
+    }
+
+    @Test
+    void progressionShouldNotBeSubsetWhenOutOfBounds() {
+        Progression progression = new Progression(4, 24, 4);
+        Progression superset = new Progression(0, 20, 2);
+
+        assertFalse(progression.isSubsetOf(superset));
+    }
+
+    @Test
+    void singletonProgressionShouldBeSubsetOfContainingProgression() {
+        Progression singleton = new Progression(9, 9, 4);
+        Progression progression = new Progression(0, 10, 3);
+
+        assertTrue(singleton.isSubsetOf(progression));
+    }
+
+    @Test
+    void shouldPartitionIntoBalancedContiguousParts() {
+        Progression progression = new Progression(0, 9, 1);
+        List<Progression> expected = Arrays.asList(
+                new Progression(0, 3, 1), new Progression(4, 6, 1), new Progression(7, 9, 1)
+        );
+
+        List<Progression> parts = progression.partition(3);
+
+        assertEquals(expected, parts);
+    }
+
+    @Test
+    void partitionShouldKeepStepAndDirection() {
+        Progression progression = new Progression(100, 0, 7);
+        int[] expected = progression.toIntArray();
+
+        List<Progression> parts = progression.partition(4);
+
+        assertArrayEquals(expected, parts.stream().flatMapToInt(Progression::stream).toArray());
+        for (Progression part : parts) {
+            int length = part.length();
+            assertTrue(length == 3 || length == 4, "unbalanced part " + part);
+        }
+    }
+
+    @Test
+    void partitionIntoMorePartsThanIntegersShouldGiveSingletons() {
+        Progression progression = new Progression(0, 4, 2);
+
+        List<Progression> parts = progression.partition(5);
+
+        assertEquals(3, parts.size());
+        assertEquals(new Progression(4, 4, 2), parts.get(2));
+    }
+
+    @Test
+    void shouldThrowExceptionForNonPositivePartCount() {
+        Progression progression = new Progression(0, 4, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> progression.partition(0));
+    }
+
+    @Test
+    void shouldReturnInterleavedShard() {
+        Progression progression = new Progression(0, 9, 1);
+
+        Optional<Progression> shard = progression.shard(3, 1);
+
+        assertEquals(Optional.of(new Progression(1, 7, 3)), shard);
+    }
+
+    @Test
+    void shardsShouldCoverProgressionExactlyOnce() {
+        Progression progression = new Progression(50, -50, 3);
+        int shardCount = 4;
+        long total = 0;
+        long sum = 0;
+
+        for (int shardId = 0; shardId < shardCount; shardId++) {
+            Progression shard = progression.shard(shardCount, shardId).get();
+            total += shard.length();
+            sum += shard.stream().asLongStream().sum();
+        }
+
+        assertEquals(progression.length(), total);
+        assertEquals(progression.stream().asLongStream().sum(), sum);
+    }
+
+    @Test
+    void shardBeyondEndOfProgressionShouldBeEmpty() {
+        Progression progression = new Progression(0, 4, 2);
+
+        assertFalse(progression.shard(5, 3).isPresent());
+    }
+
+    @Test
+    void shouldThrowExceptionForShardIdOutOfRange() {
+        Progression progression = new Progression(0, 4, 2);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> progression.shard(3, 3));
+    }
+
+    @Test
+    void shouldSliceBetweenIndices() {
+        Progression progression = new Progression(10, 20, 1);
+
+        Optional<Progression> slice = progression.slice(2, 5);
+
+        assertEquals(Optional.of(new Progression(12, 14, 1)), slice);
+    }
+
+    @Test
+    void sliceShouldKeepStepAndDirection() {
+        int[] expected = { 23, 20, 17, };
+        Progression progression = new Progression(29, 0, 3);
+
+        Progression slice = progression.slice(2, 5).get();
+
+        assertArrayEquals(expected, slice.toIntArray());
+        assertArrayEquals(new int[] { 17, 20, 23, }, slice.reverse().toIntArray());
+    }
+
+    @Test
+    void emptySliceShouldBeEmpty() {
+        Progression progression = new Progression(10, 20, 1);
+
+        assertFalse(progression.slice(3, 3).isPresent());
+    }
+
+    @Test
+    void shouldThrowExceptionForSliceOutOfBounds() {
+        Progression progression = new Progression(10, 20, 1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> progression.slice(5, 12));
+        assertThrows(IndexOutOfBoundsException.class, () -> progression.slice(5, 4));
+    }
+
+    @Test
+    void shouldTakeFirstIntegers() {
+        Progression progression = new Progression(0, 100, 10);
+
+        Optional<Progression> taken = progression.take(3);
+
+        assertEquals(Optional.of(new Progression(0, 20, 10)), taken);
+    }
+
+    @Test
+    void takingMoreThanLengthShouldTakeEverything() {
+        Progression progression = new Progression(0, 100, 10);
+
+        Optional<Progression> taken = progression.take(50);
+
+        assertEquals(Optional.of(progression), taken);
+    }
+
+    @Test
+    void shouldDropFirstIntegers() {
+        Progression progression = new Progression(100, 0, 10);
+
+        Optional<Progression> remaining = progression.drop(8);
+
+        assertEquals(Optional.of(new Progression(20, 0, 10)), remaining);
+    }
+
+    @Test
+    void droppingEverythingShouldBeEmpty() {
+        Progression progression = new Progression(100, 0, 10);
+
+        assertFalse(progression.drop(11).isPresent());
+        assertFalse(progression.take(0).isPresent());
+    }
+
+    @Test
+    void shouldStepByEveryKthInteger() {
+        Progression progression = new Progression(0, 10, 1);
+
+        Progression stepped = progression.stepBy(4);
+
+        assertEquals(new Progression(0, 8, 4), stepped);
+    }
+
+    @Test
+    void stepByShouldKeepDirection() {
+        int[] expected = { 30, 24, 18, 12, 6, 0, };
+        Progression progression = new Progression(30, 0, 2);
+
+        Progression stepped = progression.stepBy(3);
+
+        assertArrayEquals(expected, stepped.toIntArray());
+    }
+
+    @Test
+    void shouldFindIndexOfInteger() {
+        Progression progression = new Progression(1, 9, 2);
+
+        assertEquals(3, progression.indexOf(7));
+        assertEquals(1, progression.reverse().indexOf(7));
+    }
+
+    @Test
+    void indexOfAbsentIntegerShouldBeNegative() {
+        Progression progression = new Progression(1, 9, 2);
+
+        assertEquals(-1, progression.indexOf(4));
+        assertEquals(-1, progression.indexOf(11));
+    }
+
+    @Test
+    void indexOfShouldInvertGet() {
+        Progression progression = new Progression(1_000, -1_000, 7);
+
+        for (int index = 0; index < progression.length(); index++) {
+            assertEquals(index, progression.indexOf(progression.get(index)));
+        }
+    }
+
+    @Test
+    void shouldFindFloorAndCeilingOfAscendingProgression() {
+        Progression progression = new Progression(0, 20, 5);
+
+        assertEquals(OptionalInt.of(10), progression.floor(12));
+        assertEquals(OptionalInt.of(15), progression.ceiling(12));
+        assertEquals(OptionalInt.of(10), progression.floor(10));
+        assertEquals(OptionalInt.of(10), progression.ceiling(10));
+    }
+
+    @Test
+    void shouldFindFloorAndCeilingInIterationOrderOfBackwardsProgression() {
+        Progression progression = new Progression(20, 0, 5);
+
+        assertEquals(OptionalInt.of(15), progression.floor(12));
+        assertEquals(OptionalInt.of(10), progression.ceiling(12));
+    }
+
+    @Test
+    void shouldFindLowerAndHigherExcludingGivenInteger() {
+        Progression progression = new Progression(0, 20, 5);
+
+        assertEquals(OptionalInt.of(5), progression.lower(10));
+        assertEquals(OptionalInt.of(15), progression.higher(10));
+        assertEquals(OptionalInt.of(15), progression.reverse().lower(10));
+        assertEquals(OptionalInt.of(5), progression.reverse().higher(10));
+    }
+
+    @Test
+    void lookupsPastEndsShouldBeEmpty() {
+        Progression progression = new Progression(0, 22, 5);
+
+        assertEquals(OptionalInt.empty(), progression.floor(-1));
+        assertEquals(OptionalInt.empty(), progression.ceiling(21));
+        assertEquals(OptionalInt.empty(), progression.lower(0));
+        assertEquals(OptionalInt.empty(), progression.higher(20));
+        assertEquals(OptionalInt.of(20), progression.floor(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void lookupsShouldNotOverflowAtIntegerExtremes() {
+        Progression progression = new Progression(Integer.MIN_VALUE, Integer.MAX_VALUE, 1 << 30);
+
+        assertEquals(OptionalInt.empty(), progression.lower(Integer.MIN_VALUE));
+        assertEquals(OptionalInt.of(1 << 30), progression.floor(Integer.MAX_VALUE));
+        assertEquals(OptionalInt.empty(), progression.higher(Integer.MAX_VALUE));
+        assertEquals(3, progression.indexOf(1 << 30));
+    }
+
+    @Test
+    void forEachConcurrentShouldRunActionsConcurrentlyWithinLimit() throws InterruptedException {
+        Progression progression = new Progression(0, 199, 1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        LongAdder sum = new LongAdder();
+
+        progression.forEachConcurrent((int integer) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(5);
+            sum.add(integer);
+            inFlight.decrementAndGet();
+        }, 16);
+
+        assertEquals(19_900, sum.sum());
+        assertTrue(maxInFlight.get() > 1, "actions should overlap");
+        assertTrue(maxInFlight.get() <= 16, "too many actions in flight: " + maxInFlight.get());
+    }
+
+    @Test
+    void forEachConcurrentShouldPropagateFirstException() {
+        Progression progression = new Progression(0, 1_000, 1);
+        AtomicInteger started = new AtomicInteger();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                progression.forEachConcurrent((int integer) -> {
+                    started.incrementAndGet();
+                    if (integer == 10) {
+                        throw new IllegalStateException("expected");
+                    }
+                    sleep(1);
+                }, 4)
+        );
+
+        assertEquals("expected", exception.getMessage());
+        assertTrue(started.get() < 1_000, "no further integers should be handed out");
+    }
+
+    @Test
+    void forEachConcurrentShouldUseGivenExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Progression progression = new Progression(10, 1, 3);
+        Set<Integer> visited = ConcurrentHashMap.newKeySet();
+
+        try {
+            progression.forEachConcurrent((int integer) -> visited.add(integer), 2, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(new HashSet<>(Arrays.asList(10, 7, 4, 1)), visited);
+    }
+
+    @Test
+    void shouldThrowExceptionForNonPositiveConcurrency() {
+        Progression progression = new Progression(0, 10, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> progression.forEachConcurrent((int integer) -> { }, 0));
+    }
+
+    @Test
+    void aggregatesShouldMatchIteration() {
+        Progression[] progressions = {
+                new Progression(0, 10, 3), new Progression(10, 0, 3), new Progression(-1_000_003, 999_999, 7),
+                new Progression(5, 5, 1), new Progression(Integer.MAX_VALUE, Integer.MIN_VALUE, 1 << 20),
+        };
+
+        for (Progression progression : progressions) {
+            long sum = 0;
+            BigInteger sumOfSquares = BigInteger.ZERO;
+            for (int integer : progression) {
+                sum += integer;
+                sumOfSquares = sumOfSquares.add(BigInteger.valueOf(integer).pow(2));
+            }
+
+            assertEquals(sum, progression.sum(), progression.toString());
+            assertEquals(sumOfSquares, progression.sumOfSquaresAsBigInteger(), progression.toString());
+            assertEquals((double) sum / progression.length(), progression.average(), 1e-6, progression.toString());
+        }
+    }
+
+    @Test
+    void sumShouldNotOverflowForEntireIntegerRange() {
+        Progression progression = new Progression(Integer.MIN_VALUE, Integer.MAX_VALUE, 1);
+        Progression positives = new Progression(0, Integer.MAX_VALUE, 1);
+
+        assertEquals(Integer.MIN_VALUE, progression.sum());
+        assertEquals((long) Integer.MAX_VALUE * (Integer.MAX_VALUE + 1L) / 2, positives.sum());
+        assertEquals(-0.5, progression.average());
+    }
+
+    @Test
+    void sumOfSquaresShouldThrowExceptionOnOverflow() {
+        Progression fits = new Progression(0, 3_000_000, 1);
+        Progression overflows = new Progression(0, 4_000_000, 1);
+
+        assertEquals(fits.sumOfSquaresAsBigInteger().longValueExact(), fits.sumOfSquares());
+        assertThrows(ArithmeticException.class, overflows::sumOfSquares);
+    }
+
+    @Test
+    void minMaxAndLastShouldHonourDirection() {
+        Progression forwards = new Progression(0, 10, 3);
+        Progression backwards = new Progression(10, 0, 3);
+
+        assertEquals(0, forwards.min());
+        assertEquals(9, forwards.max());
+        assertEquals(9, forwards.last());
+        assertEquals(1, backwards.min());
+        assertEquals(10, backwards.max());
+        assertEquals(1, backwards.last());
+    }
+
+    @Test
+    void lastShouldWorkBeyondMaximumLength() {
+        Progression progression = new Progression(Integer.MAX_VALUE, Integer.MIN_VALUE, 1);
+
+        int last = progression.last();
+
+        assertEquals(Integer.MIN_VALUE, last);
+    }
+
+    @Test
+    void gatherShouldCopyElementsAtProgressionIndices() {
+        int[] source = { 0, 10, 20, 30, 40, 50, 60, 70, 80, 90, };
+        Progression progression = new Progression(1, 9, 4);
+        Progression reversed = new Progression(9, 0, 3);
+
+        int[] gathered = progression.gather(source, new int[3]);
+        int[] gatheredBackwards = reversed.gather(source, new int[4]);
+
+        assertArrayEquals(new int[] { 10, 50, 90, }, gathered);
+        assertArrayEquals(new int[] { 90, 60, 30, 0, }, gatheredBackwards);
+    }
+
+    @Test
+    void gatherShouldCopyRangesInBulk() {
+        long[] source = { 1, 2, 3, 4, 5, };
+        Progression progression = new Progression(1, 3, 1);
+        Progression reversed = new Progression(3, 1, 1);
+
+        long[] gathered = progression.gather(source, new long[4]);
+        long[] gatheredBackwards = reversed.gather(source, new long[3]);
+
+        assertArrayEquals(new long[] { 2, 3, 4, 0, }, gathered);
+        assertArrayEquals(new long[] { 4, 3, 2, }, gatheredBackwards);
+    }
+
+    @Test
+    void scatterShouldBeInverseOfGather() {
+        double[] source = { 1.5, 2.5, 3.5, };
+        Progression progression = new Progression(6, 0, 3);
+
+        double[] scattered = progression.scatter(source, new double[7]);
+        double[] gathered = progression.gather(scattered, new double[3]);
+
+        assertArrayEquals(new double[] { 3.5, 0, 0, 2.5, 0, 0, 1.5, }, scattered);
+        assertArrayEquals(source, gathered);
+    }
+
+    @Test
+    void scatterShouldWorkForObjectArrays() {
+        String[] source = { "a", "b", };
+        Progression strided = new Progression(0, 2, 2);
+        Progression range = new Progression(1, 2, 1);
+
+        String[] scattered = strided.scatter(source, new String[3]);
+        String[] copied = range.scatter(source, new String[3]);
+
+        assertArrayEquals(new String[] { "a", null, "b", }, scattered);
+        assertArrayEquals(new String[] { null, "a", "b", }, copied);
+    }
+
+    @Test
+    void fillShouldAssignOnlyProgressionIndices() {
+        int[] strided = new int[8];
+        Object[] range = new Object[4];
+
+        new Progression(7, 0, 3).fill(strided, 1);
+        new Progression(1, 2, 1).fill(range, "x");
+
+        assertArrayEquals(new int[] { 0, 1, 0, 0, 1, 0, 0, 1, }, strided);
+        assertArrayEquals(new Object[] { null, "x", "x", null, }, range);
+    }
+
+    @Test
+    void stridedAccessShouldAcceptProgressionWhoseEndIsNotAMember() {
+        int[] array = new int[10];
+        Progression progression = new Progression(0, 10, 3);
+
+        progression.fill(array, 1);
+
+        assertArrayEquals(new int[] { 1, 0, 0, 1, 0, 0, 1, 0, 0, 1, }, array);
+    }
+
+    @Test
+    void stridedAccessShouldThrowExceptionBeforeCopyingAnything() {
+        int[] source = { 1, 2, 3, 4, };
+        int[] destination = new int[2];
+        Progression outOfBounds = new Progression(0, 4, 2);
+        Progression negative = new Progression(-2, 2, 2);
+        Progression tooLong = new Progression(0, 2, 1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> outOfBounds.gather(source, new int[3]));
+        assertThrows(IndexOutOfBoundsException.class, () -> negative.fill(source, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> tooLong.gather(source, destination));
+        assertThrows(IndexOutOfBoundsException.class, () -> tooLong.scatter(destination, source));
+        assertArrayEquals(new int[] { 1, 2, 3, 4, }, source);
+        assertArrayEquals(new int[2], destination);
+    }
+
+    @Test
+    void writeToShouldFillHeapAndDirectIntBuffers() {
+        Progression progression = new Progression(10, 0, 4);
+        IntBuffer heap = IntBuffer.allocate(5).put(-1);
+        IntBuffer direct = ByteBuffer.allocateDirect(12).asIntBuffer();
+
+        progression.writeTo(heap);
+        progression.writeTo(direct);
+
+        assertArrayEquals(new int[] { -1, 10, 6, 2, 0, }, heap.array());
+        assertEquals(4, heap.position());
+        assertEquals(3, direct.position());
+        assertEquals(6, direct.get(1));
+    }
+
+    @Test
+    void writeToShouldUseGivenByteOrder() {
+        Progression progression = new Progression(1, 2, 1);
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+
+        progression.writeTo(buffer, ByteOrder.BIG_ENDIAN);
+        progression.writeTo(buffer, ByteOrder.LITTLE_ENDIAN);
+
+        assertArrayEquals(new byte[] { 0, 0, 0, 1, 0, 0, 0, 2, 1, 0, 0, 0, 2, 0, 0, 0, }, buffer.array());
+        assertEquals(16, buffer.position());
+        assertEquals(ByteOrder.BIG_ENDIAN, buffer.order());
+    }
+
+    @Test
+    void writeToShouldThrowExceptionBeforeOverflowing() {
+        Progression progression = new Progression(0, 9, 1);
+        IntBuffer small = IntBuffer.allocate(9);
+        ByteBuffer bytes = ByteBuffer.allocate(39);
+
+        assertThrows(BufferOverflowException.class, () -> progression.writeTo(small));
+        assertThrows(BufferOverflowException.class, () -> progression.writeTo(bytes, ByteOrder.BIG_ENDIAN));
+        assertThrows(ReadOnlyBufferException.class, () -> progression.writeTo(IntBuffer.allocate(10).asReadOnlyBuffer()));
+        assertEquals(0, small.position());
+        assertEquals(0, bytes.position());
+    }
+
+    @Test
+    void writeToChannelShouldStreamInChunks() throws IOException {
+        Progression progression = new Progression(0, 99_999, 1);
+        Path file = Files.createTempFile("progression", ".bin");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            long written = progression.writeTo(channel, ByteOrder.LITTLE_ENDIAN);
+
+            assertEquals(400_000, written);
+        }
+        IntBuffer contents = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        Files.delete(file);
+
+        assertEquals(100_000, contents.remaining());
+        assertEquals(0, contents.get(0));
+        assertEquals(54_321, contents.get(54_321));
+        assertEquals(99_999, contents.get(99_999));
+    }
+
+    @Test
+    void writeMappedShouldFillFileFromPosition() throws IOException {
+        Progression progression = new Progression(30, 0, 10);
+        Path file = Files.createTempFile("progression", ".bin");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long written = progression.writeMapped(channel, 8, ByteOrder.BIG_ENDIAN);
+
+            assertEquals(16, written);
+            assertEquals(0, channel.position());
+        }
+        ByteBuffer contents = ByteBuffer.wrap(Files.readAllBytes(file));
+        Files.delete(file);
+
+        assertEquals(24, contents.capacity());
+        assertEquals(0L, contents.getLong(0));
+        assertEquals(30, contents.getInt(8));
+        assertEquals(0, contents.getInt(20));
+    }
+
+    @Test
+    void shuffledShouldVisitEveryIntegerExactlyOnce() {
+        int[] lengths = { 1, 2, 3, 17, 1_000, 4_097, };
+
+        for (int length : lengths) {
+            Progression progression = new Progression(5, 5 + (length - 1) * 3, 3);
+
+            int[] shuffled = progression.shuffled(42).toArray();
+            int[] sorted = shuffled.clone();
+            Arrays.sort(sorted);
+
+            assertArrayEquals(progression.toIntArray(), sorted, "for length " + length);
+        }
+    }
+
+    @Test
+    void shuffledShouldDependOnlyOnSeed() {
+        Progression progression = new Progression(0, 999, 1);
+
+        int[] first = progression.shuffled(7).toArray();
+        int[] second = progression.shuffled(7).toArray();
+        int[] other = progression.shuffled(8).toArray();
+
+        assertArrayEquals(first, second);
+        assertFalse(Arrays.equals(first, other));
+        assertFalse(Arrays.equals(progression.toIntArray(), first));
+    }
+
+    @Test
+    void shuffledShouldSplitForParallelStreams() {
+        Progression progression = new Progression(1_000_000, 0, 7);
+        Spliterator.OfInt spliterator = progression.shuffled(3).spliterator();
+
+        Spliterator.OfInt prefix = spliterator.trySplit();
+        long sum = progression.shuffled(3).parallel().asLongStream().sum();
+        int[] sequential = progression.shuffled(3).toArray();
+        int[] parallel = progression.shuffled(3).parallel().toArray();
+
+        assertEquals(progression.longLength() / 2, prefix.estimateSize());
+        assertEquals(progression.sum(), sum);
+        assertArrayEquals(sequential, parallel);
+    }
+
+    @Test
+    void sampleShouldReturnDistinctMembersInAscendingOrder() {
+        Progression[] progressions = {
+                new Progression(0, 999, 1), new Progression(1_000_000, 7, 13),
+                new Progression(Integer.MIN_VALUE, Integer.MAX_VALUE, 1),
+        };
+
+        for (Progression progression : progressions) {
+            for (int k : new int[] { 0, 1, 2, 50, 500, }) {
+                int[] sample = progression.sample(k, k * 31L);
+
+                assertEquals(k, sample.length);
+                for (int i = 0; i < k; i++) {
+                    assertTrue(progression.contains(sample[i]), progression + " should contain " + sample[i]);
+                    assertTrue(i == 0 || sample[i - 1] < sample[i], "sample should be strictly ascending");
+                }
+            }
+        }
+    }
+
+    @Test
+    void sampleOfEveryIntegerShouldBeWholeProgression() {
+        Progression progression = new Progression(1, 100, 3);
+
+        int[] sample = progression.sample(progression.length(), 9);
+
+        assertArrayEquals(progression.toIntArray(), sample);
+    }
+
+    @Test
+    void sampleShouldBeUniform() {
+        Progression progression = new Progression(0, 99, 1);
+        int[] counts = new int[100];
+        int trials = 20_000;
+
+        for (int seed = 0; seed < trials; seed++) {
+            for (int integer : progression.sample(5, seed)) {
+                counts[integer]++;
+            }
+        }
+
+        // each integer is expected 1000 times, with a standard deviation of about 31
+        for (int count : counts) {
+            assertTrue(count > 850 && count < 1150, "count " + count + " is too far from 1000");
+        }
+    }
+
+    @Test
+    void sampleShouldDependOnlyOnSeed() {
+        Progression progression = new Progression(0, 1_000_000_000, 7);
+
+        int[] first = progression.sample(100, 11);
+        int[] second = progression.sample(100, 11);
+
+        assertArrayEquals(first, second);
+        assertFalse(Arrays.equals(first, progression.sample(100, 12)));
+    }
+
+    @Test
+    void shouldThrowExceptionForInvalidSampleSize() {
+        Progression progression = new Progression(0, 9, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> progression.sample(11, 0));
+        assertThrows(IllegalArgumentException.class, () -> progression.sample(-1, 0));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -22,6 +22,12 @@ package xyz.jmburns.rangefun;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static xyz.jmburns.rangefun.ProgressionTestHelper.progressionReturnsOnlyExpectedIntegers;
 
@@ -143,4 +149,109 @@ class ProgressionsTest {
 
         assertTrue(progressionReturnsOnlyExpectedIntegers(range, expected));
     }
+
+    @Test
+    void shouldReturnCorrectStream() {
+        int[] expected = { 0, 3, 6, 9, };
+
+        int[] actual = Progressions.stream(0, 10, 3).toArray();
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void shouldReturnCorrectParallelStream() {
+        int[] expected = { 9, 6, 3, 0, };
+
+        int[] actual = Progressions.parallelStream(9, 0, 3).toArray();
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void shouldReturnCorrectLongRange() {
+        long[] expected = { 1L << 40, (1L << 40) + 1, (1L << 40) + 2, };
+
+        long[] actual = Progressions.longRange(1L << 40, (1L << 40) + 2).stream().toArray();
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void shouldReturnCorrectLongProgression() {
+        long[] expected = { 10, 7, 4, 1, };
+
+        long[] actual = Progressions.longProgression(10, 0, 3).stream().toArray();
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void shouldThrowExceptionForZeroLongStep() {
+        assertThrows(IllegalArgumentException.class, () -> Progressions.longProgression(0, 10, 0));
+    }
+
+    @Test
+    void parallelForShouldVisitEveryIntegerExactlyOnce() {
+        Progression progression = Progressions.progression(1_000_000, -1_000_000, 3);
+        AtomicIntegerArray visits = new AtomicIntegerArray(2_000_001);
+
+        Progressions.parallelFor(progression, (int integer) -> visits.incrementAndGet(integer + 1_000_000));
+
+        for (int integer = -1_000_000; integer <= 1_000_000; integer++) {
+            int expected = progression.contains(integer) ? 1 : 0;
+            assertEquals(expected, visits.get(integer + 1_000_000));
+        }
+    }
+
+    @Test
+    void parallelForShouldRespectMinimumGrainOnGivenPool() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        LongAdder sum = new LongAdder();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        try {
+            Progressions.parallelFor(Progressions.count(10_000), (int integer) -> {
+                sum.add(integer);
+                threads.add(Thread.currentThread());
+            }, pool, 10_000);
+        } finally {
+            pool.shutdown();
+        }
+
+        // the calling thread runs the timing probe, and a single leaf runs the rest
+        assertEquals(49_995_000, sum.sum());
+        assertTrue(threads.size() <= 2);
+    }
+
+    @Test
+    void parallelForShouldPropagateExceptions() throws InterruptedException {
+        Progression progression = Progressions.range(0, 1_000_000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        LongAdder performed = new LongAdder();
+
+        try {
+            assertThrows(IllegalStateException.class, () -> Progressions.parallelFor(progression, (int integer) -> {
+                performed.increment();
+                if (integer == 130_000) {
+                    throw new IllegalStateException("expected");
+                }
+            }, pool, 1));
+            long performedWhenThrown = performed.sum();
+            Thread.sleep(100);
+
+            assertEquals(performedWhenThrown, performed.sum());
+            assertTrue(performedWhenThrown < 1_000_000);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldThrowExceptionForNonPositiveGrain() {
+        Progression progression = Progressions.count(10);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Progressions.parallelFor(progression, (int integer) -> { }, ForkJoinPool.commonPool(), 0));
+    }
 }